@@ -0,0 +1,105 @@
+#!/bin/bash
+#
+# Measures how many disbursements the service keeps in flight when every partner call takes
+# 2 seconds (wiremock/mappings/disburse-slow.json). Run it once per execution mode and compare.
+# The loadtest profile lets all of them through to the one provider at once; without it the
+# provider's concurrency limit starts low and turns most of them away with 503:
+#
+#   SPRING_PROFILES_ACTIVE=loadtest docker-compose up --build            # platform threads
+#   SPRING_PROFILES_ACTIVE=virtual,loadtest docker-compose up --build    # virtual threads
+#   SPRING_PROFILES_ACTIVE=reactive,loadtest docker-compose up --build   # WebFlux + R2DBC
+#
+#   ./TestDocumentation/run_capacity_test.sh [concurrency] [mode-label]
+#
+# Outside Docker Compose, point the service's partner calls at WireMock directly:
+#
+#   PARTNER_URL=http://localhost:8081 ./TestDocumentation/run_capacity_test.sh 400 virtual
+
+CONCURRENCY=${1:-400}
+MODE=${2:-${SPRING_PROFILES_ACTIVE:-default}}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+PARTNER_URL=${PARTNER_URL:-http://wiremock:8080}
+PARTNER_DELAY_MS=2000
+
+echo "=========================================="
+echo "  LOAD DISBURSEMENT SERVICE - CAPACITY TEST"
+echo "=========================================="
+echo "Date: $(date)"
+echo "Mode: $MODE"
+echo "Concurrent disbursements: $CONCURRENCY"
+echo ""
+
+# Colors for output
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+# Step 1: Create a provider whose disbursement API is slow
+echo "1. CREATE SLOW PROVIDER"
+echo "------------------------"
+PROVIDER_RESPONSE=$(curl -s -X POST "$BASE_URL/providers" \
+  -H "Content-Type: application/json" \
+  -d "{\"data\":{\"type\":\"providers\",\"attributes\":{\"name\":\"SlowTelco\",\"feeAmount\":10,\"validateApiUrl\":\"$PARTNER_URL/validate\",\"disbursementApiUrl\":\"$PARTNER_URL/disburse-slow\"}}}")
+PROVIDER_ID=$(echo "$PROVIDER_RESPONSE" | grep -o '"id":"[^"]*"' | head -1 | sed 's/"id":"//;s/"//')
+
+if [ -n "$PROVIDER_ID" ]; then
+  echo -e "${GREEN}PASS${NC} - Provider created with ID: $PROVIDER_ID"
+else
+  echo -e "${RED}FAIL${NC} - Provider creation failed: $PROVIDER_RESPONSE"
+  exit 1
+fi
+
+echo ""
+
+# Step 2: Create the orders up front so only disbursement is measured
+echo "2. CREATE $CONCURRENCY ORDERS"
+echo "------------------------"
+ORDER_IDS_FILE=$(mktemp)
+for _ in $(seq 1 "$CONCURRENCY"); do
+  curl -s -X POST "$BASE_URL/orders/load" \
+    -H "Content-Type: application/json" \
+    -d "{\"data\":{\"type\":\"orders\",\"attributes\":{\"providerId\":\"$PROVIDER_ID\",\"accountNumber\":\"+639123456789\",\"amount\":100}}}" \
+    | grep -o '"id":"[^"]*"' | head -1 | sed 's/"id":"//;s/"//' >> "$ORDER_IDS_FILE"
+done
+CREATED=$(grep -c . "$ORDER_IDS_FILE")
+
+if [ "$CREATED" -eq "$CONCURRENCY" ]; then
+  echo -e "${GREEN}PASS${NC} - $CREATED orders created"
+else
+  echo -e "${RED}FAIL${NC} - Only $CREATED of $CONCURRENCY orders created"
+  exit 1
+fi
+
+echo ""
+
+# Step 3: Disburse all orders at once and time it
+echo "3. DISBURSE $CONCURRENCY ORDERS CONCURRENTLY"
+echo "------------------------"
+RESULTS_FILE=$(mktemp)
+START_MS=$(date +%s%3N)
+xargs -P "$CONCURRENCY" -I{} curl -s -o /dev/null -w "%{http_code}\n" -X POST "$BASE_URL/orders/load/{}" \
+  -H "Content-Type: application/json" \
+  -d '{"data":{"type":"orders","attributes":{"paymentId":"550e8400-e29b-41d4-a716-446655440002"}}}' \
+  < "$ORDER_IDS_FILE" > "$RESULTS_FILE"
+END_MS=$(date +%s%3N)
+
+ELAPSED_MS=$((END_MS - START_MS))
+OK=$(grep -c '^200$' "$RESULTS_FILE")
+# Little's law: average in flight = throughput x latency
+IN_FLIGHT=$((OK * PARTNER_DELAY_MS / ELAPSED_MS))
+
+echo "Elapsed:            ${ELAPSED_MS} ms"
+echo "Succeeded:          $OK / $CONCURRENCY"
+echo "Throughput:         $((OK * 1000 / ELAPSED_MS)) disbursements/s"
+echo "Average in flight:  $IN_FLIGHT (partner latency ${PARTNER_DELAY_MS} ms)"
+
+rm -f "$ORDER_IDS_FILE" "$RESULTS_FILE"
+
+echo ""
+if [ "$OK" -eq "$CONCURRENCY" ]; then
+  echo -e "${GREEN}PASS${NC} - Capacity test completed in mode: $MODE"
+else
+  echo -e "${RED}FAIL${NC} - $((CONCURRENCY - OK)) disbursements did not return 200"
+  echo "Is the service running with the loadtest profile?"
+  exit 1
+fi
@@ -0,0 +1,66 @@
+#!/bin/bash
+#
+# Drives the create -> disburse flow at each scenario's target rate against the running service,
+# with the WireMock partner stubs shaped by the scenario (src/loadtest/resources/scenarios). Every
+# scenario gets its own Gatling report with throughput, p50/p95/p99/p99.9 latency and errors per
+# request, and fails when it breaks the scenario's limits. Run it once per execution mode and compare.
+# The loadtest profile starts each provider's concurrency limit high enough for the scenarios:
+#
+#   SPRING_PROFILES_ACTIVE=loadtest docker-compose up --build
+#   ./TestDocumentation/run_load_test.sh [scenario ...]
+#
+# Outside Docker Compose, point the service's partner calls at WireMock directly:
+#
+#   PARTNER_URL=http://localhost:8081 ./TestDocumentation/run_load_test.sh baseline
+#
+# For a quick smoke run, override the scenarios' rate and duration:
+#
+#   MAVEN_ARGS="-Dloadtest.rate=5 -Dloadtest.durationSeconds=20" ./TestDocumentation/run_load_test.sh
+
+SCENARIOS=${*:-baseline slow-partner flaky-partner}
+MODE=${MODE:-${SPRING_PROFILES_ACTIVE:-default}}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+WIREMOCK_URL=${WIREMOCK_URL:-http://localhost:8081}
+PARTNER_URL=${PARTNER_URL:-http://wiremock:8080}
+MVN=${MVN:-./mvnw}
+
+echo "=========================================="
+echo "  LOAD DISBURSEMENT SERVICE - LOAD TEST"
+echo "=========================================="
+echo "Date: $(date)"
+echo "Mode: $MODE"
+echo "Scenarios: $SCENARIOS"
+echo ""
+
+# Colors for output
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+cd "$(dirname "$0")/.." || exit 1
+$MVN -B -q -Ploadtest test-compile || exit 1
+
+FAILED=0
+RESULTS=""
+for SCENARIO in $SCENARIOS; do
+  echo "SCENARIO $SCENARIO"
+  echo "------------------------"
+  $MVN -B -Ploadtest gatling:test \
+    -Dloadtest.scenario="$SCENARIO" \
+    -Dloadtest.baseUrl="$BASE_URL" \
+    -Dloadtest.wiremockUrl="$WIREMOCK_URL" \
+    -Dloadtest.partnerUrl="$PARTNER_URL" \
+    -Dgatling.resultsFolder="target/gatling/$SCENARIO-$MODE" \
+    | sed -n '/---- Global Information/,/Reports generated/p;/ : \(true\|false\) (actual/p'
+  if [ "${PIPESTATUS[0]}" -eq 0 ]; then
+    RESULTS="$RESULTS${GREEN}PASS${NC} - $SCENARIO\n"
+  else
+    RESULTS="$RESULTS${RED}FAIL${NC} - $SCENARIO\n"
+    FAILED=1
+  fi
+  echo ""
+done
+
+echo "Reports: target/gatling/<scenario>-$MODE/<run>/index.html"
+echo -e "$RESULTS"
+exit $FAILED
@@ -0,0 +1,194 @@
+package com.example.disbursement.loadtest;
+
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.details;
+import static io.gatling.javaapi.core.CoreDsl.doIf;
+import static io.gatling.javaapi.core.CoreDsl.doSwitch;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.group;
+import static io.gatling.javaapi.core.CoreDsl.jmesPath;
+import static io.gatling.javaapi.core.CoreDsl.onCase;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Starts create→disburse flows at the scenario's rate, an open workload that keeps arriving
+ * whether or not the service keeps up, against partner stubs shaped by the scenario.
+ * <p>
+ * Healthy orders are reported as the {@code flow} group with {@code create} and {@code disburse}
+ * requests. Orders routed to a failing partner are reported apart, under {@code partner fault},
+ * and pass as long as the service does not report them successful.
+ * <p>
+ * System properties: {@code loadtest.scenario}, {@code loadtest.baseUrl} (the service),
+ * {@code loadtest.wiremockUrl} (WireMock as seen from here) and {@code loadtest.partnerUrl}
+ * (WireMock as seen from the service).
+ */
+public class DisbursementFlowSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+    private static final String WIREMOCK_URL = System.getProperty("loadtest.wiremockUrl", "http://localhost:8081");
+    private static final String PARTNER_URL = System.getProperty("loadtest.partnerUrl", "http://wiremock:8080");
+
+    private static final String CREATE_BODY = "{\"data\":{\"type\":\"orders\",\"attributes\":{"
+            + "\"providerId\":\"#{providerId}\",\"accountNumber\":\"#{accountNumber}\",\"amount\":100}}}";
+    private static final String DISBURSE_BODY = "{\"data\":{\"type\":\"orders\",\"attributes\":{"
+            + "\"paymentId\":\"#{paymentId}\"}}}";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final LoadScenario scenario = LoadScenario.load(System.getProperty("loadtest.scenario", "baseline"));
+    private final PartnerStubs stubs = new PartnerStubs(WIREMOCK_URL, scenario,
+            Long.toString(System.currentTimeMillis(), 36));
+    private volatile String providerId;
+
+    {
+        HttpProtocolBuilder protocol = http.baseUrl(BASE_URL)
+                .contentTypeHeader("application/json")
+                .acceptHeader("application/vnd.api+json")
+                .shareConnections();
+
+        ScenarioBuilder flows = scenario(scenario.name())
+                .feed(orders())
+                .doSwitch("#{fault}").on(
+                        onCase("validate").then(group("partner fault").on(createRejected())),
+                        onCase("disburse").then(group("partner fault").on(created(), disburseRejected())),
+                        onCase("none").then(group("flow").on(created(), disbursed())));
+
+        setUp(flows.injectOpen(
+                rampUsersPerSec(1).to(scenario.rate()).during(scenario.rampSeconds()),
+                constantUsersPerSec(scenario.rate()).during(scenario.durationSeconds())))
+                .protocols(protocol)
+                .assertions(assertions());
+    }
+
+    @Override
+    public void before() {
+        try {
+            stubs.install();
+            providerId = createProvider();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not prepare the load test: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted preparing the load test", e);
+        }
+        System.out.printf("Scenario %s: %s%nProvider %s, %.0f flows/s for %ds after a %ds ramp%n",
+                scenario.name(), scenario.description(), providerId,
+                scenario.rate(), scenario.durationSeconds(), scenario.rampSeconds());
+    }
+
+    @Override
+    public void after() {
+        try {
+            stubs.removeAll();
+        } catch (IOException e) {
+            System.err.println("Could not remove the load-test stubs: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** One order per arriving user, a share of them marked for a partner fault. */
+    private Iterator<Map<String, Object>> orders() {
+        double validateFaults = scenario.validate().faultPercent();
+        double disburseFaults = validateFaults + scenario.disburse().faultPercent();
+        return Stream.generate(() -> {
+            double roll = ThreadLocalRandom.current().nextDouble(100);
+            String fault = roll < validateFaults ? "validate" : roll < disburseFaults ? "disburse" : "none";
+            char lastDigit = switch (fault) {
+                case "validate" -> PartnerStubs.VALIDATE_FAULT_DIGIT;
+                case "disburse" -> PartnerStubs.DISBURSE_FAULT_DIGIT;
+                default -> PartnerStubs.healthyDigit();
+            };
+            return Map.<String, Object>of(
+                    "providerId", providerId,
+                    "accountNumber", PartnerStubs.accountNumber(lastDigit),
+                    "paymentId", UUID.randomUUID().toString(),
+                    "fault", fault);
+        }).iterator();
+    }
+
+    private ChainBuilder created() {
+        // A random validate decline is a 422 and ends the flow before disbursement
+        Integer[] statuses = scenario.validate().declinePercent() > 0 ? new Integer[]{201, 422} : new Integer[]{201};
+        return exec(http("create").post("/orders/load")
+                .body(StringBody(CREATE_BODY))
+                .check(status().in(statuses), jmesPath("data.id").optional().saveAs("orderId")));
+    }
+
+    private ChainBuilder disbursed() {
+        String[] outcomes = scenario.disburse().declinePercent() > 0
+                ? new String[]{"SUCCESS", "FAILED"} : new String[]{"SUCCESS"};
+        return doIf(session -> session.contains("orderId")).then(
+                exec(http("disburse").post("/orders/load/#{orderId}")
+                        .body(StringBody(DISBURSE_BODY))
+                        .check(status().is(200), jmesPath("data.attributes.status").in(outcomes))));
+    }
+
+    private ChainBuilder createRejected() {
+        return exec(http("create rejected").post("/orders/load")
+                .body(StringBody(CREATE_BODY))
+                .check(status().not(201)));
+    }
+
+    private ChainBuilder disburseRejected() {
+        // The partner's error, a declined order or an unknown outcome are all fine; success is not
+        return doIf(session -> session.contains("orderId")).then(
+                exec(http("disburse rejected").post("/orders/load/#{orderId}")
+                        .body(StringBody(DISBURSE_BODY))
+                        .check(status().saveAs("status"), jmesPath("data.attributes.status").not("SUCCESS"))));
+    }
+
+    private List<Assertion> assertions() {
+        List<Assertion> assertions = new ArrayList<>();
+        LoadScenario.Limits limits = scenario.limits();
+        if (limits.p99Millis() != null) {
+            assertions.add(details("flow").responseTime().percentile(99.0).lt(limits.p99Millis()));
+        }
+        if (limits.failedPercent() != null) {
+            assertions.add(global().failedRequests().percent().lte(limits.failedPercent()));
+        }
+        return assertions;
+    }
+
+    private String createProvider() throws IOException, InterruptedException {
+        String body = "{\"data\":{\"type\":\"providers\",\"attributes\":{\"name\":\"LoadTest " + scenario.name()
+                + "\",\"feeAmount\":10,\"validateApiUrl\":\"" + PARTNER_URL + stubs.validatePath()
+                + "\",\"disbursementApiUrl\":\"" + PARTNER_URL + stubs.disbursePath() + "\"}}}";
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(BASE_URL + "/providers"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher id = ID.matcher(response.body());
+        if (response.statusCode() != 201 || !id.find()) {
+            throw new IOException("provider not created: " + response.statusCode() + " " + response.body());
+        }
+        return id.group(1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.disbursement.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * A load-test scenario from {@code src/loadtest/resources/scenarios/<name>.json}: the rate at which
+ * create→disburse flows are started, how long to hold it, how each partner endpoint behaves, and
+ * the limits the run must stay within.
+ */
+record LoadScenario(String name,
+                    String description,
+                    double rate,
+                    int rampSeconds,
+                    int durationSeconds,
+                    PartnerBehaviour validate,
+                    PartnerBehaviour disburse,
+                    Limits limits) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * Loads the named scenario; {@code loadtest.rate} and {@code loadtest.durationSeconds} system
+     * properties override its rate and duration, for a quick smoke run of a heavy scenario.
+     */
+    static LoadScenario load(String name) {
+        LoadScenario scenario;
+        try (InputStream in = LoadScenario.class.getResourceAsStream("/scenarios/" + name + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException("No load-test scenario named " + name
+                        + " in src/loadtest/resources/scenarios");
+            }
+            scenario = OBJECT_MAPPER.readValue(in, LoadScenario.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable load-test scenario " + name, e);
+        }
+        return new LoadScenario(name, scenario.description(),
+                Double.parseDouble(System.getProperty("loadtest.rate", String.valueOf(scenario.rate()))),
+                scenario.rampSeconds(),
+                Integer.getInteger("loadtest.durationSeconds", scenario.durationSeconds()),
+                orDefault(scenario.validate()), orDefault(scenario.disburse()),
+                scenario.limits() != null ? scenario.limits() : new Limits(null, null));
+    }
+
+    private static PartnerBehaviour orDefault(PartnerBehaviour behaviour) {
+        return behaviour != null ? behaviour : new PartnerBehaviour(null, 0, 0, null);
+    }
+
+    /**
+     * How a partner endpoint answers.
+     *
+     * @param delay          a WireMock {@code delayDistribution}, e.g. {@code {"type":"lognormal","median":80,"sigma":0.4}}
+     * @param declinePercent share of calls, picked at random per call, answered with a business decline
+     * @param faultPercent   share of orders whose every call to this endpoint fails, retries included
+     * @param fault          an HTTP status such as {@code "503"} or a WireMock fault such as
+     *                       {@code "CONNECTION_RESET_BY_PEER"}; defaults to {@code "503"}
+     */
+    record PartnerBehaviour(JsonNode delay, double declinePercent, double faultPercent, String fault) {
+
+        String faultOrDefault() {
+            return fault != null ? fault : "503";
+        }
+    }
+
+    /**
+     * Assertions that fail the run.
+     *
+     * @param p99Millis     99th percentile of healthy create→disburse flows
+     * @param failedPercent requests whose outcome was wrong; injected partner faults count only
+     *                      when the service reports success despite them
+     */
+    record Limits(Integer p99Millis, Double failedPercent) {
+    }
+}
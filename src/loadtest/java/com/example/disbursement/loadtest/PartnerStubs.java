@@ -0,0 +1,133 @@
+package com.example.disbursement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Partner endpoints for one load-test run, registered through the WireMock admin API beside the
+ * static stubs in {@code wiremock/mappings}. Each run gets its own paths, so circuit breakers and
+ * concurrency limits start fresh.
+ * <p>
+ * Random declines come from response templating, per call. Faults are chosen per order instead:
+ * the last digit of the account number routes every call for that order, retries included, to a
+ * failing stub, since WireMock cannot pick a status code at random.
+ */
+final class PartnerStubs {
+
+    static final char VALIDATE_FAULT_DIGIT = '8';
+    static final char DISBURSE_FAULT_DIGIT = '9';
+
+    private static final String METADATA_KEY = "loadtest";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String adminUrl;
+    private final LoadScenario scenario;
+    private final String path;
+
+    /**
+     * @param wiremockUrl WireMock as seen from the load generator
+     * @param runId       distinguishes this run's paths from earlier runs of the same scenario
+     */
+    PartnerStubs(String wiremockUrl, LoadScenario scenario, String runId) {
+        this.adminUrl = wiremockUrl + "/__admin";
+        this.scenario = scenario;
+        this.path = "/loadtest/" + scenario.name() + "/" + runId;
+    }
+
+    String validatePath() {
+        return path + "/validate";
+    }
+
+    String disbursePath() {
+        return path + "/disburse";
+    }
+
+    /** An account number whose calls fail at the given digit's endpoint, or at neither. */
+    static String accountNumber(char lastDigit) {
+        return String.format("+639%08d%c", ThreadLocalRandom.current().nextInt(100_000_000), lastDigit);
+    }
+
+    /** A last digit that no fault stub matches. */
+    static char healthyDigit() {
+        return (char) ('0' + ThreadLocalRandom.current().nextInt(8));
+    }
+
+    /** Replaces the stubs of any earlier run with this run's. */
+    void install() throws IOException, InterruptedException {
+        removeAll();
+        register(validatePath(), scenario.validate(), VALIDATE_FAULT_DIGIT,
+                "{\"valid\":false,\"error\":\"Declined by load test\"}", "{\"valid\":true}");
+        register(disbursePath(), scenario.disburse(), DISBURSE_FAULT_DIGIT,
+                "{\"success\":false,\"reference\":\"{{randomValue type='UUID'}}\"}",
+                "{\"success\":true,\"reference\":\"{{randomValue type='UUID'}}\"}");
+    }
+
+    void removeAll() throws IOException, InterruptedException {
+        send("/mappings/remove-by-metadata", "{\"matchesJsonPath\":\"$." + METADATA_KEY + "\"}");
+    }
+
+    private void register(String urlPath, LoadScenario.PartnerBehaviour behaviour, char faultDigit,
+                          String declined, String accepted) throws IOException, InterruptedException {
+        if (behaviour.faultPercent() > 0) {
+            ObjectNode fault = mapping(urlPath, 1);
+            fault.withArray("/request/bodyPatterns").addObject()
+                    .putObject("matchesJsonPath")
+                    .put("expression", "$.accountNumber")
+                    .put("matches", ".*" + faultDigit + "$");
+            ObjectNode response = fault.putObject("response");
+            String kind = behaviour.faultOrDefault();
+            if (kind.chars().allMatch(Character::isDigit)) {
+                response.put("status", Integer.parseInt(kind));
+            } else {
+                response.put("fault", kind);
+            }
+            delay(response, behaviour);
+            send("/mappings", fault.toString());
+        }
+
+        ObjectNode answer = mapping(urlPath, 2);
+        ObjectNode response = answer.putObject("response")
+                .put("status", 200)
+                .put("body", behaviour.declinePercent() > 0
+                        ? "{{#if (lt (randomInt lower=0 upper=10000) " + Math.round(behaviour.declinePercent() * 100)
+                                + ")}}" + declined + "{{else}}" + accepted + "{{/if}}"
+                        : accepted);
+        response.putObject("headers").put("Content-Type", "application/json");
+        response.putArray("transformers").add("response-template");
+        delay(response, behaviour);
+        send("/mappings", answer.toString());
+    }
+
+    private ObjectNode mapping(String urlPath, int priority) {
+        ObjectNode mapping = objectMapper.createObjectNode().put("priority", priority);
+        mapping.putObject("request").put("method", "POST").put("urlPath", urlPath);
+        mapping.putObject("metadata").put(METADATA_KEY, scenario.name());
+        return mapping;
+    }
+
+    private static void delay(ObjectNode response, LoadScenario.PartnerBehaviour behaviour) {
+        if (behaviour.delay() != null) {
+            response.set("delayDistribution", behaviour.delay());
+        }
+    }
+
+    private void send(String adminPath, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(adminUrl + adminPath))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("WireMock rejected " + adminPath + ": "
+                    + response.statusCode() + " " + response.body());
+        }
+    }
+}
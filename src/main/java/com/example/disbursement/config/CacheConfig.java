@@ -0,0 +1,68 @@
+package com.example.disbursement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROVIDERS_CACHE = "providers";
+    public static final String IDEMPOTENCY_CACHE = "idempotencyResponses";
+    public static final String VALIDATION_CACHE = "partnerValidations";
+
+    /**
+     * Bounded, TTL-expired cache of provider snapshots. Stats are recorded so that actuator
+     * publishes {@code cache.gets} hit/miss metrics for it.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> providerCacheCustomizer(
+            @Value("${disbursement.providers.cache.maximum-size:1000}") long maximumSize,
+            @Value("${disbursement.providers.cache.ttl:PT5M}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(PROVIDERS_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+    }
+
+    /**
+     * Bounded cache of completed {@code Idempotency-Key} responses in front of the
+     * {@code idempotency_keys} table.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> idempotencyCacheCustomizer(
+            @Value("${disbursement.idempotency.keys.cache-maximum-size:10000}") long maximumSize,
+            @Value("${disbursement.idempotency.keys.ttl:PT24H}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(IDEMPOTENCY_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+    }
+
+    /**
+     * Short-lived cache of successful partner validations. Registered as an async cache so that
+     * concurrent lookups of the same key share one partner call.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> validationCacheCustomizer(
+            @Value("${disbursement.partner.validation-cache.maximum-size:10000}") long maximumSize,
+            @Value("${disbursement.partner.validation-cache.ttl:PT10S}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(VALIDATION_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .buildAsync());
+    }
+}
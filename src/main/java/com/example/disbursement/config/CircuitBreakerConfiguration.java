@@ -0,0 +1,66 @@
+package com.example.disbursement.config;
+
+import com.example.disbursement.exception.PartnerUnavailableException;
+import com.example.disbursement.service.PartnerErrors;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CircuitBreakerConfiguration {
+
+    /**
+     * Registry of partner circuit breakers, holding the config every breaker starts from. Only
+     * {@link PartnerErrors#isPartnerFailure partner failures} and slow calls count against a
+     * breaker; bulkhead rejections are ignored. State, call and failure-rate metrics are
+     * published as {@code resilience4j.circuitbreaker.*}.
+     */
+    @Bean
+    public CircuitBreakerRegistry partnerCircuitBreakerRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${disbursement.partner.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${disbursement.partner.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${disbursement.partner.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${disbursement.partner.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${disbursement.partner.circuit-breaker.wait-duration-in-open-state:PT30S}") Duration waitDurationInOpenState,
+            @Value("${disbursement.partner.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .recordException(PartnerErrors::isPartnerFailure)
+                .ignoreExceptions(PartnerUnavailableException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * One breaker per provider and operation. A call is slow past
+     * {@code slow-call-duration-threshold} or, when that is unset, past
+     * {@code slow-call-duration-ratio} of the provider's response timeout, so a partner that is
+     * merely slow by design does not trip its breaker.
+     */
+    @Bean
+    public PartnerCircuitBreakers partnerCircuitBreakers(
+            CircuitBreakerRegistry partnerCircuitBreakerRegistry,
+            PartnerHttpProperties httpProperties,
+            @Value("${disbursement.partner.circuit-breaker.slow-call-duration-threshold:#{null}}") Duration slowCallDurationThreshold,
+            @Value("${disbursement.partner.circuit-breaker.slow-call-duration-ratio:0.5}") double slowCallDurationRatio) {
+        return new PartnerCircuitBreakers(partnerCircuitBreakerRegistry, httpProperties,
+                slowCallDurationThreshold, slowCallDurationRatio);
+    }
+}
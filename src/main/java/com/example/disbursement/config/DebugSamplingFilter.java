@@ -0,0 +1,49 @@
+package com.example.disbursement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks {@code debug-sample-rate} of requests for debug logging and marks them in the MDC, which
+ * {@link SampledDebugTurboFilter} checks. A sampled request keeps all of its DEBUG events on the
+ * request thread, so its whole path through the service can be read back; the others log none.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "disbursement.logging", name = "debug-sample-rate")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DebugSamplingFilter extends OncePerRequestFilter {
+
+    public static final String SAMPLED_MDC_KEY = "debugSampled";
+
+    @Value("${disbursement.logging.debug-sample-rate}")
+    private double sampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(SAMPLED_MDC_KEY, "true");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(SAMPLED_MDC_KEY);
+        }
+    }
+}
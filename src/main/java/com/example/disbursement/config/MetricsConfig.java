@@ -0,0 +1,67 @@
+package com.example.disbursement.config;
+
+import com.example.disbursement.service.PartnerHedgingPolicy;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the number of time series bounded. Request data must never become a tag value: each
+ * account or order would be a new series in every replica's registry and in Prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Strips tags that would carry request data, should any meter ever add one.
+     */
+    @Bean
+    public MeterFilter requestDataTagsFilter() {
+        return MeterFilter.ignoreTags("account", "accountNumber", "orderId", "paymentId", "idempotencyKey");
+    }
+
+    /**
+     * Caps the provider IDs tagged on {@code partner.*} meters; beyond that, new providers' meters
+     * are dropped rather than growing the registry. {@code partner.latency} is exempt: the hedging
+     * policy reads its percentile to time hedges, and a denied timer records nothing.
+     */
+    @Bean
+    public MeterFilter partnerProviderTagLimit(@Value("${disbursement.metrics.max-providers:100}") int maxProviders) {
+        return except(PartnerHedgingPolicy.LATENCY_TIMER,
+                MeterFilter.maximumAllowableTags("partner.", "provider", maxProviders, MeterFilter.deny()));
+    }
+
+    /**
+     * The same cap for the partner circuit breaker meters, which are tagged by provider as well.
+     */
+    @Bean
+    public MeterFilter partnerCircuitBreakerTagLimit(@Value("${disbursement.metrics.max-providers:100}") int maxProviders) {
+        return MeterFilter.maximumAllowableTags("resilience4j.circuitbreaker.", "provider", maxProviders, MeterFilter.deny());
+    }
+
+    /**
+     * Applies {@code filter} to every meter but those named {@code name}.
+     */
+    private static MeterFilter except(String name, MeterFilter filter) {
+        return new MeterFilter() {
+            @Override
+            public MeterFilterReply accept(Meter.Id id) {
+                return name.equals(id.getName()) ? MeterFilterReply.NEUTRAL : filter.accept(id);
+            }
+
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                return name.equals(id.getName()) ? id : filter.map(id);
+            }
+
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return name.equals(id.getName()) ? config : filter.configure(id, config);
+            }
+        };
+    }
+}
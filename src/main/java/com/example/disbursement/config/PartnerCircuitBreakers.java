@@ -0,0 +1,52 @@
+package com.example.disbursement.config;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Partner circuit breakers, one per provider and operation ({@code validate} or
+ * {@code disburse}), created on first use from the registry's default config. Breakers are named
+ * by provider ID rather than URL and tagged {@code provider} and {@code operation}, so changed
+ * URLs do not add meter series. A call is slow past {@code slowCallDurationThreshold} or, when
+ * that is unset, past {@code slowCallDurationRatio} of the provider's own response timeout.
+ */
+public class PartnerCircuitBreakers {
+
+    private final CircuitBreakerRegistry registry;
+    private final PartnerHttpProperties httpProperties;
+    private final Duration slowCallDurationThreshold;
+    private final double slowCallDurationRatio;
+
+    public PartnerCircuitBreakers(CircuitBreakerRegistry registry, PartnerHttpProperties httpProperties,
+                                  Duration slowCallDurationThreshold, double slowCallDurationRatio) {
+        this.registry = registry;
+        this.httpProperties = httpProperties;
+        this.slowCallDurationThreshold = slowCallDurationThreshold;
+        this.slowCallDurationRatio = slowCallDurationRatio;
+    }
+
+    public static String name(UUID providerId, String operation) {
+        return providerId + ":" + operation;
+    }
+
+    public CircuitBreaker forEndpoint(ProviderSnapshot provider, String operation) {
+        return registry.circuitBreaker(name(provider.id(), operation), () -> configFor(provider),
+                Map.of("provider", provider.id().toString(), "operation", operation));
+    }
+
+    private CircuitBreakerConfig configFor(ProviderSnapshot provider) {
+        Duration threshold = slowCallDurationThreshold != null
+                ? slowCallDurationThreshold
+                : Duration.ofNanos((long) (httpProperties.forProvider(provider.id(), provider.name())
+                        .getResponseTimeout().toNanos() * slowCallDurationRatio));
+        return CircuitBreakerConfig.from(registry.getDefaultConfig())
+                .slowCallDurationThreshold(threshold)
+                .build();
+    }
+}
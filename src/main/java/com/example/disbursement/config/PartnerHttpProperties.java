@@ -0,0 +1,80 @@
+package com.example.disbursement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * HTTP client settings for partner APIs. {@code defaults} apply to every provider; entries
+ * under {@code providers}, keyed by provider ID or name, override individual settings.
+ */
+@Data
+@ConfigurationProperties(prefix = "disbursement.partner.http")
+public class PartnerHttpProperties {
+
+    private Settings defaults = Settings.builder()
+            .maxConnections(200)
+            .pendingAcquireMaxCount(500)
+            .pendingAcquireTimeout(Duration.ofSeconds(5))
+            .maxIdleTime(Duration.ofSeconds(30))
+            .maxLifeTime(Duration.ofMinutes(5))
+            .evictInBackground(Duration.ofSeconds(30))
+            .connectTimeout(Duration.ofSeconds(2))
+            .readTimeout(Duration.ofSeconds(10))
+            .responseTimeout(Duration.ofSeconds(10))
+            .http2(false)
+            .build();
+
+    private Map<String, Settings> providers = new HashMap<>();
+
+    public Settings forProvider(UUID id, String name) {
+        Settings override = providers.get(id.toString());
+        if (override == null && name != null) {
+            override = providers.entrySet().stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(null);
+        }
+        return override != null ? override.orElse(defaults) : defaults;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Settings {
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictInBackground;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Duration responseTimeout;
+        private Boolean http2;
+
+        Settings orElse(Settings fallback) {
+            return Settings.builder()
+                    .maxConnections(maxConnections != null ? maxConnections : fallback.maxConnections)
+                    .pendingAcquireMaxCount(pendingAcquireMaxCount != null ? pendingAcquireMaxCount : fallback.pendingAcquireMaxCount)
+                    .pendingAcquireTimeout(pendingAcquireTimeout != null ? pendingAcquireTimeout : fallback.pendingAcquireTimeout)
+                    .maxIdleTime(maxIdleTime != null ? maxIdleTime : fallback.maxIdleTime)
+                    .maxLifeTime(maxLifeTime != null ? maxLifeTime : fallback.maxLifeTime)
+                    .evictInBackground(evictInBackground != null ? evictInBackground : fallback.evictInBackground)
+                    .connectTimeout(connectTimeout != null ? connectTimeout : fallback.connectTimeout)
+                    .readTimeout(readTimeout != null ? readTimeout : fallback.readTimeout)
+                    .responseTimeout(responseTimeout != null ? responseTimeout : fallback.responseTimeout)
+                    .http2(http2 != null ? http2 : fallback.http2)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.disbursement.config;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link WebClient} per provider, each with its own reactor-netty connection pool so a
+ * provider that holds connections cannot starve the others. Pools publish
+ * {@code reactor.netty.connection.provider.*} metrics named {@code partner-<provider>}.
+ */
+@Slf4j
+public class PartnerWebClients implements DisposableBean {
+
+    private final WebClient.Builder webClientBuilder;
+    private final PartnerHttpProperties properties;
+    private final String baseUrl;
+    private final Map<UUID, WebClient> clients = new ConcurrentHashMap<>();
+    private final Map<UUID, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+
+    public PartnerWebClients(WebClient.Builder webClientBuilder, PartnerHttpProperties properties, String baseUrl) {
+        this.webClientBuilder = webClientBuilder;
+        this.properties = properties;
+        this.baseUrl = baseUrl;
+    }
+
+    public WebClient forProvider(ProviderSnapshot provider) {
+        return clients.computeIfAbsent(provider.id(), id -> create(provider));
+    }
+
+    public PartnerHttpProperties.Settings settingsFor(ProviderSnapshot provider) {
+        return properties.forProvider(provider.id(), provider.name());
+    }
+
+    private WebClient create(ProviderSnapshot provider) {
+        PartnerHttpProperties.Settings settings = settingsFor(provider);
+        log.info("Creating partner HTTP client for provider {} ({}): {}", provider.name(), provider.id(), settings);
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("partner-" + provider.id())
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .evictInBackground(settings.getEvictInBackground())
+                .metrics(true)
+                .build();
+        connectionProviders.put(provider.id(), connectionProvider);
+
+        long readTimeoutMillis = settings.getReadTimeout().toMillis();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .responseTimeout(settings.getResponseTimeout())
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)));
+        if (settings.getHttp2()) {
+            // h2 over TLS via ALPN, h2c upgrade over plain HTTP, HTTP/1.1 when the partner declines
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+    }
+}
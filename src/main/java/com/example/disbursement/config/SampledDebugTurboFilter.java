@@ -0,0 +1,30 @@
+package com.example.disbursement.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets DEBUG and TRACE events through only on a thread serving a request that
+ * {@link DebugSamplingFilter} picked for debug logging. Installed by {@code logback-spring.xml}
+ * in the {@code prod} profile.
+ * <p>
+ * Logback consults turbo filters before the level check, so a denied {@code isDebugEnabled()} or
+ * {@code atDebug()} costs an MDC lookup and allocates nothing. Classic {@code debug(format, arg)}
+ * calls build an argument array before reaching this filter, which only escape analysis may
+ * remove; hot paths use the fluent API instead.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(DebugSamplingFilter.SAMPLED_MDC_KEY) != null ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -1,20 +1,20 @@
 package com.example.disbursement.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
+@EnableConfigurationProperties(PartnerHttpProperties.class)
 public class WebClientConfig {
 
     @Value("${wiremock.base-url}")
     private String wiremockBaseUrl;
 
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
-                .baseUrl(wiremockBaseUrl)
-                .build();
+    public PartnerWebClients partnerWebClients(WebClient.Builder webClientBuilder, PartnerHttpProperties properties) {
+        return new PartnerWebClients(webClientBuilder, properties, wiremockBaseUrl);
     }
 }
@@ -1,44 +1,138 @@
 package com.example.disbursement.controller;
 
 import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.OrderFilter;
+import com.example.disbursement.dto.OrderPage;
+import com.example.disbursement.dto.jsonapi.JsonApiBatchRequest;
 import com.example.disbursement.dto.jsonapi.JsonApiData;
 import com.example.disbursement.dto.jsonapi.JsonApiRequest;
 import com.example.disbursement.dto.jsonapi.JsonApiResponse;
+import com.example.disbursement.dto.jsonapi.OrderDocument;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.service.IdempotencyService;
+import com.example.disbursement.service.OrderBatchService;
+import com.example.disbursement.service.OrderExportService;
 import com.example.disbursement.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 @Slf4j
 public class OrderController {
 
     private static final String JSON_API_CONTENT_TYPE = "application/vnd.api+json";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
 
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final IdempotencyService idempotencyService;
+    private final OrderExportService orderExportService;
 
     @PostMapping(
             path = "/load",
             consumes = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE},
             produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
     )
-    public ResponseEntity<JsonApiResponse<OrderDto>> createLoadOrder(
+    public ResponseEntity<?> createLoadOrder(
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody JsonApiRequest<OrderDto> request) {
         log.debug("POST /orders/load - Creating load order");
 
-        JsonApiData<OrderDto> data = orderService.createLoadOrder(request.getData().getAttributes());
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(JsonApiResponse.single(data));
+        if (idempotencyKey == null) {
+            JsonApiData<OrderDto> data = orderService.createLoadOrder(request.getData().getAttributes());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(JsonApiResponse.single(data));
+        }
+
+        // Keyed requests answer with the stored bytes, so a replay skips serialization too
+        IdempotencyService.StoredResponse response = idempotencyService.execute(
+                idempotencyKey, "POST /orders/load", request.getData().getAttributes(), HttpStatus.CREATED.value(),
+                () -> JsonApiResponse.single(orderService.createLoadOrder(request.getData().getAttributes())));
+        return ResponseEntity.status(response.status())
+                .contentType(MediaType.parseMediaType(JSON_API_CONTENT_TYPE))
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(response.replayed()))
+                .body(response.body());
     }
 
+    /**
+     * Creates many load orders in one request. Responds 201 when every item was created and
+     * 200 when some were rejected; each item reports its own outcome in {@code meta}.
+     */
+    @PostMapping(
+            path = "/load/batch",
+            consumes = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE},
+            produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
+    )
+    public ResponseEntity<JsonApiResponse<OrderDto>> createLoadOrders(
+            @RequestBody JsonApiBatchRequest<OrderDto> request) {
+        requireAttributes(request);
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("POST /orders/load/batch - Creating load orders")
+                    .addKeyValue("count", request.getData().size())
+                    .log();
+        }
+
+        List<OrderDto> dtos = request.getData().stream().map(JsonApiData::getAttributes).toList();
+        List<JsonApiData<OrderDto>> data = orderBatchService.createLoadOrders(dtos);
+        boolean allCreated = data.stream()
+                .allMatch(item -> OrderBatchService.RESULT_CREATED.equals(item.getMeta().get("result")));
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(JsonApiResponse.list(data));
+    }
+
+    /**
+     * Disburses many orders in one request. Each item names the order in {@code id} and carries
+     * its {@code paymentId}; each item reports its own outcome in {@code meta}.
+     */
+    @PostMapping(
+            path = "/disburse/batch",
+            consumes = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE},
+            produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
+    )
+    public ResponseEntity<JsonApiResponse<OrderDto>> disburseOrders(
+            @RequestBody JsonApiBatchRequest<OrderDto> request) {
+        requireAttributes(request);
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("POST /orders/disburse/batch - Disbursing orders")
+                    .addKeyValue("count", request.getData().size())
+                    .log();
+        }
+
+        List<JsonApiData<OrderDto>> data = orderBatchService.disburseOrders(request.getData());
+        return ResponseEntity.ok(JsonApiResponse.list(data));
+    }
+
+    /**
+     * Disburses an order. With {@code Prefer: respond-async} the disbursement is queued and the
+     * response is 202 with the order still PROCESSING; poll {@code GET /orders/{orderId}} for the
+     * result.
+     */
     @PostMapping(
             path = "/load/{orderId}",
             consumes = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE},
@@ -46,21 +140,119 @@ public class OrderController {
     )
     public ResponseEntity<JsonApiResponse<OrderDto>> disburseOrder(
             @PathVariable UUID orderId,
+            @RequestHeader(name = PREFER_HEADER, required = false) String prefer,
             @Valid @RequestBody JsonApiRequest<OrderDto> request) {
-        log.debug("POST /orders/load/{} - Disbursing order", orderId);
+        log.atDebug().setMessage("POST /orders/load/{orderId} - Disbursing order")
+                .addKeyValue("orderId", orderId)
+                .log();
+
+        if (prefer == null || !prefer.contains(RESPOND_ASYNC)) {
+            JsonApiData<OrderDto> data = orderService.disburseOrder(orderId, request.getData().getAttributes());
+            return ResponseEntity.ok(JsonApiResponse.single(data));
+        }
+
+        JsonApiData<OrderDto> data = orderService.enqueueDisbursement(orderId, request.getData().getAttributes());
+        if (!Order.OrderStatus.PROCESSING.name().equals(data.getAttributes().getStatus())) {
+            return ResponseEntity.ok(JsonApiResponse.single(data));
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/orders/" + orderId))
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(JsonApiResponse.single(data));
+    }
+
+    /**
+     * Lists orders newest first. All filters are optional; {@code createdFrom} is inclusive and
+     * {@code createdTo} exclusive. Follow {@code links.next} for the next page; it is absent on
+     * the last one.
+     */
+    @GetMapping(produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<JsonApiResponse<OrderDto>> listOrders(
+            @RequestParam(required = false) UUID providerId,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("GET /orders - Listing orders");
+
+        OrderFilter filter = new OrderFilter(providerId, status, accountNumber, createdFrom, createdTo);
+        OrderPage page = orderService.listOrders(filter, cursor, limit);
 
-        JsonApiData<OrderDto> data = orderService.disburseOrder(orderId, request.getData().getAttributes());
-        return ResponseEntity.ok(JsonApiResponse.single(data));
+        // The request's query string is already encoded and the cursor is URL-safe Base64
+        Map<String, String> links = new LinkedHashMap<>();
+        links.put("self", ServletUriComponentsBuilder.fromCurrentRequest().build(true).toUriString());
+        if (page.nextCursor() != null) {
+            links.put("next", ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .build(true)
+                    .toUriString());
+        }
+        return ResponseEntity.ok(JsonApiResponse.list(page.data(), links));
+    }
+
+    /**
+     * Streams every matching order, oldest first, as NDJSON (default) or CSV for reconciliation.
+     * Rows are written as they are read from the database, so the response is not buffered;
+     * it is gzip-compressed when the client sends {@code Accept-Encoding: gzip}.
+     */
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) UUID providerId,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.atDebug().setMessage("GET /orders/export - Exporting orders")
+                .addKeyValue("format", format)
+                .log();
+
+        OrderExportService.Format exportFormat = OrderExportService.Format.fromParameter(format);
+        OrderFilter filter = new OrderFilter(providerId, status, accountNumber, createdFrom, createdTo);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                orderExportService.export(filter, exportFormat, out);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            orderExportService.export(filter, exportFormat, compressed);
+            compressed.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping(
             path = "/{orderId}",
             produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
     )
-    public ResponseEntity<JsonApiResponse<OrderDto>> getOrder(@PathVariable UUID orderId) {
-        log.debug("GET /orders/{} - Fetching order", orderId);
+    public ResponseEntity<OrderDocument> getOrder(@PathVariable UUID orderId) {
+        log.atDebug().setMessage("GET /orders/{orderId} - Fetching order")
+                .addKeyValue("orderId", orderId)
+                .log();
+
+        return ResponseEntity.ok(orderService.getOrderById(orderId));
+    }
 
-        JsonApiData<OrderDto> data = orderService.getOrderById(orderId);
-        return ResponseEntity.ok(JsonApiResponse.single(data));
+    private static void requireAttributes(JsonApiBatchRequest<OrderDto> request) {
+        if (request.getData() == null
+                || request.getData().stream().anyMatch(item -> item == null || item.getAttributes() == null)) {
+            throw new ValidationException("Every batch item must contain attributes");
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.example.disbursement.controller;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.jsonapi.JsonApiRequest;
+import com.example.disbursement.dto.jsonapi.JsonApiResponse;
+import com.example.disbursement.dto.jsonapi.OrderDocument;
+import com.example.disbursement.service.ReactiveOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * WebFlux variant of {@link OrderController}, active with the {@code reactive} profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/orders")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderController {
+
+    private static final String JSON_API_CONTENT_TYPE = "application/vnd.api+json";
+
+    private final ReactiveOrderService orderService;
+
+    @PostMapping(
+            path = "/load",
+            consumes = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE},
+            produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
+    )
+    public Mono<ResponseEntity<JsonApiResponse<OrderDto>>> createLoadOrder(
+            @Valid @RequestBody JsonApiRequest<OrderDto> request) {
+        log.debug("POST /orders/load - Creating load order");
+
+        return orderService.createLoadOrder(request.getData().getAttributes())
+                .map(data -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(JsonApiResponse.single(data)));
+    }
+
+    @PostMapping(
+            path = "/load/{orderId}",
+            consumes = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE},
+            produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
+    )
+    public Mono<ResponseEntity<JsonApiResponse<OrderDto>>> disburseOrder(
+            @PathVariable UUID orderId,
+            @Valid @RequestBody JsonApiRequest<OrderDto> request) {
+        log.atDebug().setMessage("POST /orders/load/{orderId} - Disbursing order")
+                .addKeyValue("orderId", orderId)
+                .log();
+
+        return orderService.disburseOrder(orderId, request.getData().getAttributes())
+                .map(data -> ResponseEntity.ok(JsonApiResponse.single(data)));
+    }
+
+    @GetMapping(
+            path = "/{orderId}",
+            produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
+    )
+    public Mono<ResponseEntity<OrderDocument>> getOrder(@PathVariable UUID orderId) {
+        log.atDebug().setMessage("GET /orders/{orderId} - Fetching order")
+                .addKeyValue("orderId", orderId)
+                .log();
+
+        return orderService.getOrderById(orderId).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.disbursement.controller;
+
+import com.example.disbursement.dto.ProviderDto;
+import com.example.disbursement.dto.jsonapi.JsonApiRequest;
+import com.example.disbursement.dto.jsonapi.JsonApiResponse;
+import com.example.disbursement.service.ReactiveProviderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of {@link ProviderController}, active with the {@code reactive} profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/providers")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProviderController {
+
+    private static final String JSON_API_CONTENT_TYPE = "application/vnd.api+json";
+
+    private final ReactiveProviderService providerService;
+
+    @PostMapping(
+            consumes = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE},
+            produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE}
+    )
+    public Mono<ResponseEntity<JsonApiResponse<ProviderDto>>> createProvider(
+            @Valid @RequestBody JsonApiRequest<ProviderDto> request) {
+        log.debug("POST /providers - Creating provider");
+
+        return providerService.createProvider(request.getData().getAttributes())
+                .map(data -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(JsonApiResponse.single(data)));
+    }
+
+    @GetMapping(produces = {JSON_API_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<JsonApiResponse<ProviderDto>>> getAllProviders() {
+        log.debug("GET /providers - Fetching all providers");
+
+        return providerService.getAllProviders()
+                .map(providers -> ResponseEntity.ok(JsonApiResponse.list(providers)));
+    }
+}
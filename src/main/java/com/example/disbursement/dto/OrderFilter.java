@@ -0,0 +1,19 @@
+package com.example.disbursement.dto;
+
+import com.example.disbursement.entity.Order;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filters for {@code GET /orders}. Every field is optional; {@code createdFrom} is inclusive and
+ * {@code createdTo} exclusive.
+ */
+public record OrderFilter(
+        UUID providerId,
+        Order.OrderStatus status,
+        String accountNumber,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.disbursement.dto;
+
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+
+import java.util.List;
+
+/**
+ * One page of {@code GET /orders}, newest first. {@code nextCursor} is null on the last page.
+ */
+public record OrderPage(
+        List<JsonApiData<OrderDto>> data,
+        String nextCursor
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.disbursement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Body of a partner disbursement response. Only the outcome is decoded; the message,
+ * transaction ID and anything else the partner sends are skipped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PartnerDisburseResponse(
+        boolean success
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.disbursement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Body of a partner validate response. Only the fields we act on are decoded; anything else
+ * the partner sends is skipped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PartnerValidateResponse(
+        boolean valid,
+        String error
+) {
+}
@@ -0,0 +1,29 @@
+package com.example.disbursement.dto;
+
+import com.example.disbursement.entity.Provider;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the provider fields needed on the order hot path. Safe to cache and share
+ * between threads, unlike the managed {@link Provider} entity.
+ */
+public record ProviderSnapshot(
+        UUID id,
+        String name,
+        BigDecimal feeAmount,
+        String validateApiUrl,
+        String disbursementApiUrl
+) {
+
+    public static ProviderSnapshot from(Provider provider) {
+        return new ProviderSnapshot(
+                provider.getId(),
+                provider.getName(),
+                provider.getFeeAmount(),
+                provider.getValidateApiUrl(),
+                provider.getDisbursementApiUrl()
+        );
+    }
+}
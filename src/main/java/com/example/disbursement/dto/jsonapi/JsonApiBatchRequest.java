@@ -0,0 +1,16 @@
+package com.example.disbursement.dto.jsonapi;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JsonApiBatchRequest<T> {
+    private List<JsonApiData<T>> data;
+}
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,4 +17,5 @@ public class JsonApiData<T> {
     private String type;
     private String id;
     private T attributes;
+    private Map<String, Object> meta;  // Per-item outcome in batch responses
 }
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -16,6 +17,7 @@ import java.util.List;
 public class JsonApiResponse<T> {
     private Object data;  // Can be JsonApiData<T> or List<JsonApiData<T>>
     private List<JsonApiError> errors;
+    private Map<String, String> links;  // Pagination links on collections
 
     public static <T> JsonApiResponse<T> single(JsonApiData<T> data) {
         return JsonApiResponse.<T>builder().data(data).build();
@@ -25,6 +27,10 @@ public class JsonApiResponse<T> {
         return JsonApiResponse.<T>builder().data(dataList).build();
     }
 
+    public static <T> JsonApiResponse<T> list(List<JsonApiData<T>> dataList, Map<String, String> links) {
+        return JsonApiResponse.<T>builder().data(dataList).links(links).build();
+    }
+
     public static <T> JsonApiResponse<T> error(List<JsonApiError> errors) {
         return JsonApiResponse.<T>builder().errors(errors).build();
     }
@@ -0,0 +1,181 @@
+package com.example.disbursement.dto.jsonapi;
+
+import com.example.disbursement.entity.Order;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The JSON:API document for a single order, {@code {"data":{"type":"orders",...}}}, written
+ * field by field from the entity instead of through {@code OrderDto}, {@link JsonApiData} and
+ * {@link JsonApiResponse}. IDs and timestamps are formatted into one reused buffer rather than
+ * through {@code toString()}. The bytes are the same as serializing
+ * {@code JsonApiResponse.single(OrderService.toJsonApiData(order))}: the same field order, nulls
+ * omitted, and amounts written as {@link BigDecimal}.
+ */
+@JsonSerialize(using = OrderDocument.Serializer.class)
+public record OrderDocument(Order order) {
+
+    static final class Serializer extends StdSerializer<OrderDocument> {
+
+        // Pre-quoted names, encoded once instead of on every response
+        private static final SerializableString DATA = new SerializedString("data");
+        private static final SerializableString TYPE = new SerializedString("type");
+        private static final SerializableString ORDERS = new SerializedString("orders");
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString ATTRIBUTES = new SerializedString("attributes");
+        private static final SerializableString PROVIDER_ID = new SerializedString("providerId");
+        private static final SerializableString ACCOUNT_NUMBER = new SerializedString("accountNumber");
+        private static final SerializableString PAYMENT_ID = new SerializedString("paymentId");
+        private static final SerializableString PROVIDER_NAME = new SerializedString("providerName");
+        private static final SerializableString BASE_AMOUNT = new SerializedString("baseAmount");
+        private static final SerializableString FEE_AMOUNT = new SerializedString("feeAmount");
+        private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+        private static final SerializableString STATUS = new SerializedString("status");
+        private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+        private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+        private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+        Serializer() {
+            super(OrderDocument.class);
+        }
+
+        @Override
+        public void serialize(OrderDocument document, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            Order order = document.order();
+            // Fits a UUID or an ISO-8601 timestamp; each value is written out before the next is formatted
+            char[] buffer = new char[36];
+            gen.writeStartObject();
+            gen.writeFieldName(DATA);
+            gen.writeStartObject();
+            gen.writeFieldName(TYPE);
+            gen.writeString(ORDERS);
+            gen.writeFieldName(ID);
+            writeUuid(gen, order.getId(), buffer);
+            gen.writeFieldName(ATTRIBUTES);
+            gen.writeStartObject();
+            // Same order as the OrderDto fields
+            gen.writeFieldName(PROVIDER_ID);
+            writeUuid(gen, order.getProviderId(), buffer);
+            writeString(gen, ACCOUNT_NUMBER, order.getAccountNumber());
+            if (order.getPaymentId() != null) {
+                gen.writeFieldName(PAYMENT_ID);
+                writeUuid(gen, order.getPaymentId(), buffer);
+            }
+            writeString(gen, PROVIDER_NAME, order.getProviderName());
+            writeNumber(gen, BASE_AMOUNT, order.getBaseAmount());
+            writeNumber(gen, FEE_AMOUNT, order.getFeeAmount());
+            writeNumber(gen, TOTAL_AMOUNT, order.getTotalAmount());
+            gen.writeFieldName(STATUS);
+            gen.writeString(order.getStatus().name());
+            if (order.getCreatedAt() != null) {
+                gen.writeFieldName(CREATED_AT);
+                writeTimestamp(gen, order.getCreatedAt(), buffer);
+            }
+            if (order.getUpdatedAt() != null) {
+                gen.writeFieldName(UPDATED_AT);
+                writeTimestamp(gen, order.getUpdatedAt(), buffer);
+            }
+            gen.writeEndObject();
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+
+        private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+            if (value != null) {
+                gen.writeFieldName(name);
+                gen.writeString(value);
+            }
+        }
+
+        /** Writes what {@link UUID#toString()} returns. */
+        private static void writeUuid(JsonGenerator gen, UUID uuid, char[] buffer) throws IOException {
+            long msb = uuid.getMostSignificantBits();
+            long lsb = uuid.getLeastSignificantBits();
+            hex(msb >>> 32, buffer, 0, 8);
+            buffer[8] = '-';
+            hex(msb >>> 16, buffer, 9, 4);
+            buffer[13] = '-';
+            hex(msb, buffer, 14, 4);
+            buffer[18] = '-';
+            hex(lsb >>> 48, buffer, 19, 4);
+            buffer[23] = '-';
+            hex(lsb, buffer, 24, 12);
+            gen.writeString(buffer, 0, 36);
+        }
+
+        /**
+         * Writes what {@link LocalDateTime#toString()} returns: seconds only when they or the
+         * nanoseconds are set, and the fraction in groups of three digits.
+         */
+        private static void writeTimestamp(JsonGenerator gen, LocalDateTime time, char[] buffer) throws IOException {
+            int year = time.getYear();
+            if (year < 1000 || year > 9999) {
+                // Padded or signed years; not worth formatting by hand
+                gen.writeString(time.toString());
+                return;
+            }
+            decimal(year, buffer, 0, 4);
+            buffer[4] = '-';
+            decimal(time.getMonthValue(), buffer, 5, 2);
+            buffer[7] = '-';
+            decimal(time.getDayOfMonth(), buffer, 8, 2);
+            buffer[10] = 'T';
+            decimal(time.getHour(), buffer, 11, 2);
+            buffer[13] = ':';
+            decimal(time.getMinute(), buffer, 14, 2);
+            int length = 16;
+            int second = time.getSecond();
+            int nano = time.getNano();
+            if (second > 0 || nano > 0) {
+                buffer[16] = ':';
+                decimal(second, buffer, 17, 2);
+                length = 19;
+                if (nano > 0) {
+                    buffer[19] = '.';
+                    if (nano % 1_000_000 == 0) {
+                        decimal(nano / 1_000_000, buffer, 20, 3);
+                        length = 23;
+                    } else if (nano % 1_000 == 0) {
+                        decimal(nano / 1_000, buffer, 20, 6);
+                        length = 26;
+                    } else {
+                        decimal(nano, buffer, 20, 9);
+                        length = 29;
+                    }
+                }
+            }
+            gen.writeString(buffer, 0, length);
+        }
+
+        private static void hex(long value, char[] buffer, int offset, int digits) {
+            for (int i = offset + digits - 1; i >= offset; i--) {
+                buffer[i] = HEX_DIGITS[(int) value & 0xF];
+                value >>>= 4;
+            }
+        }
+
+        private static void decimal(int value, char[] buffer, int offset, int digits) {
+            for (int i = offset + digits - 1; i >= offset; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+
+        private static void writeNumber(JsonGenerator gen, SerializableString name, BigDecimal value) throws IOException {
+            if (value != null) {
+                gen.writeFieldName(name);
+                gen.writeNumber(value);
+            }
+        }
+    }
+}
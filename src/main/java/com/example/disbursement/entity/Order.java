@@ -47,7 +47,8 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
-    @Column(name = "created_at")
+    // Partition key of the orders table; never changes once the order is inserted
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
@@ -69,6 +70,7 @@ public class Order {
 
     public enum OrderStatus {
         NEW,
+        PROCESSING,
         SUCCESS,
         FAILED
     }
@@ -3,12 +3,17 @@ package com.example.disbursement.exception;
 import com.example.disbursement.dto.jsonapi.JsonApiError;
 import com.example.disbursement.dto.jsonapi.JsonApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.reactive.function.client.WebClientException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -46,21 +51,29 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<JsonApiResponse<?>> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException ex) {
-        List<JsonApiError> errors = ex.getBindingResult().getAllErrors().stream()
-                .map(error -> {
-                    String field = error instanceof FieldError ?
-                            ((FieldError) error).getField() : error.getObjectName();
-                    return JsonApiError.builder()
-                            .status("422")
-                            .title("Validation Error")
-                            .detail(field + ": " + error.getDefaultMessage())
-                            .code("INVALID_ATTRIBUTE")
-                            .build();
-                })
-                .collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(JsonApiResponse.error(toValidationErrors(ex.getBindingResult())));
+    }
 
+    // Reactive profile equivalent of MethodArgumentNotValidException
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<JsonApiResponse<?>> handleWebExchangeBindException(WebExchangeBindException ex) {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
-                .body(JsonApiResponse.error(errors));
+                .body(JsonApiResponse.error(toValidationErrors(ex.getBindingResult())));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<JsonApiResponse<?>> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex) {
+        log.error("Invalid parameter {}: {}", ex.getName(), ex.getValue());
+        JsonApiError error = JsonApiError.builder()
+                .status("400")
+                .title("Bad Request")
+                .detail("Invalid value for parameter " + ex.getName() + ": " + ex.getValue())
+                .code("INVALID_PARAMETER")
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(JsonApiResponse.error(List.of(error)));
     }
 
     @ExceptionHandler(IllegalStateException.class)
@@ -76,6 +89,37 @@ public class GlobalExceptionHandler {
                 .body(JsonApiResponse.error(List.of(error)));
     }
 
+    @ExceptionHandler(PartnerUnavailableException.class)
+    public ResponseEntity<JsonApiResponse<?>> handlePartnerUnavailableException(PartnerUnavailableException ex) {
+        log.warn("Partner unavailable: {}", ex.getMessage());
+        JsonApiError error = JsonApiError.builder()
+                .status("503")
+                .title("Service Unavailable")
+                .detail(ex.getMessage())
+                .code("PARTNER_UNAVAILABLE")
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(JsonApiResponse.error(List.of(error)));
+    }
+
+    /**
+     * A partner call that still failed after its retries. For a disbursement the order stays
+     * PROCESSING and is retried in the background.
+     */
+    @ExceptionHandler(WebClientException.class)
+    public ResponseEntity<JsonApiResponse<?>> handleWebClientException(WebClientException ex) {
+        log.error("Partner call failed: {}", ex.getMessage());
+        JsonApiError error = JsonApiError.builder()
+                .status("502")
+                .title("Bad Gateway")
+                .detail("The partner did not respond successfully; retry later")
+                .code("PARTNER_ERROR")
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(JsonApiResponse.error(List.of(error)));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<JsonApiResponse<?>> handleGenericException(Exception ex) {
         log.error("Unexpected error: ", ex);
@@ -88,4 +132,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(JsonApiResponse.error(List.of(error)));
     }
+
+    private static List<JsonApiError> toValidationErrors(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(error -> {
+                    String field = error instanceof FieldError ?
+                            ((FieldError) error).getField() : error.getObjectName();
+                    return JsonApiError.builder()
+                            .status("422")
+                            .title("Validation Error")
+                            .detail(field + ": " + error.getDefaultMessage())
+                            .code("INVALID_ATTRIBUTE")
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
 }
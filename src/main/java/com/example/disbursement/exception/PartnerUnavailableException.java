@@ -0,0 +1,7 @@
+package com.example.disbursement.exception;
+
+public class PartnerUnavailableException extends RuntimeException {
+    public PartnerUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.disbursement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@code disbursement_outbox} table. Rows are leased rather than locked for the duration
+ * of the partner call: a claim stamps {@code locked_until} in one short statement, and a
+ * worker that dies mid-call simply lets the lease run out for another worker to take over.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DisbursementOutboxRepository {
+
+    private static final String CLAIM_ORDER_AND_INSERT_ENTRY = """
+            WITH claimed AS (
+                UPDATE orders
+                SET status = 'PROCESSING', payment_id = ?, updated_at = ?
+                WHERE id = ? AND created_at = ? AND status = 'NEW'
+                RETURNING id, payment_id)
+            INSERT INTO disbursement_outbox (order_id, payment_id, available_at, created_at)
+            SELECT id, payment_id, ?, ? FROM claimed
+            """;
+
+    private static final String CLAIM_ENTRIES = """
+            UPDATE disbursement_outbox
+            SET locked_until = ?, attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM disbursement_outbox
+                WHERE available_at <= ? AND (locked_until IS NULL OR locked_until < ?)
+                ORDER BY available_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, order_id, payment_id, attempts
+            """;
+
+    private static final String RESCHEDULE_ENTRY = """
+            UPDATE disbursement_outbox
+            SET available_at = ?, locked_until = NULL
+            WHERE id = ?
+            """;
+
+    private static final RowMapper<Entry> ENTRY_ROW_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getLong("id"),
+            rs.getObject("order_id", UUID.class),
+            rs.getObject("payment_id", UUID.class),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims a NEW order (NEW to PROCESSING with {@code paymentId}) and records its disbursement
+     * intent in one statement, so the two commit or roll back together. Returns {@code 0} when
+     * the order was not NEW. {@code createdAt} is the order's partition key.
+     */
+    public int claimOrderAndEnqueue(UUID orderId, LocalDateTime createdAt, UUID paymentId, LocalDateTime now) {
+        return jdbcTemplate.update(CLAIM_ORDER_AND_INSERT_ENTRY, paymentId, now, orderId, createdAt, now, now);
+    }
+
+    /**
+     * Leases up to {@code limit} due entries until {@code leaseUntil}. Rows another worker is
+     * claiming at the same moment are skipped instead of waited on.
+     */
+    public List<Entry> claim(int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        return jdbcTemplate.query(CLAIM_ENTRIES, ENTRY_ROW_MAPPER, leaseUntil, now, now, limit);
+    }
+
+    public void reschedule(long id, LocalDateTime availableAt) {
+        jdbcTemplate.update(RESCHEDULE_ENTRY, availableAt, id);
+    }
+
+    public void delete(long id) {
+        jdbcTemplate.update("DELETE FROM disbursement_outbox WHERE id = ?", id);
+    }
+
+    public record Entry(long id, UUID orderId, UUID paymentId, int attempts) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.disbursement.repository;
+
+import com.example.disbursement.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Reserves a key for a new request until {@code lockedUntil}, taking over the row if the key
+     * has expired, or if it is still in progress for the same request but its lease has run out.
+     * Returns {@code 1} when this caller owns the key and {@code 0} when it is already taken.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, created_at, expires_at, locked_until) " +
+            "VALUES (:key, :fingerprint, :now, :expiresAt, :lockedUntil) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET request_fingerprint = EXCLUDED.request_fingerprint, " +
+            "status_code = NULL, response_body = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at, " +
+            "locked_until = EXCLUDED.locked_until " +
+            "WHERE idempotency_keys.expires_at < EXCLUDED.created_at " +
+            "OR (idempotency_keys.response_body IS NULL AND idempotency_keys.locked_until < EXCLUDED.created_at " +
+            "AND idempotency_keys.request_fingerprint = EXCLUDED.request_fingerprint)",
+            nativeQuery = true)
+    int reserve(@Param("key") String key,
+                @Param("fingerprint") byte[] fingerprint,
+                @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt,
+                @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Extends the leases of reservations still in progress. Returns the number of rows updated.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.lockedUntil = :lockedUntil " +
+            "WHERE k.key IN :keys AND k.responseBody IS NULL")
+    int extendLeases(@Param("keys") Collection<String> keys,
+                     @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Stores the response for the reservation made at {@code reservedAt}. Returns {@code 0} when
+     * the reservation was taken over after its lease ran out.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.statusCode = :statusCode, k.responseBody = :responseBody, " +
+            "k.lockedUntil = NULL WHERE k.key = :key AND k.createdAt = :reservedAt")
+    int complete(@Param("key") String key,
+                 @Param("reservedAt") LocalDateTime reservedAt,
+                 @Param("statusCode") int statusCode,
+                 @Param("responseBody") byte[] responseBody);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.createdAt = :reservedAt AND k.statusCode IS NULL")
+    int release(@Param("key") String key, @Param("reservedAt") LocalDateTime reservedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
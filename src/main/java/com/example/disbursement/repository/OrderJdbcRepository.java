@@ -0,0 +1,207 @@
+package com.example.disbursement.repository;
+
+import com.example.disbursement.dto.OrderFilter;
+import com.example.disbursement.entity.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Set-based order writes that would cost one statement per row through {@link OrderRepository}.
+ * The multi-row updates bind Java arrays to PostgreSQL {@code unnest}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderJdbcRepository {
+
+    private static final String INSERT_ORDER = """
+            INSERT INTO orders (id, provider_id, provider_name, account_number, base_amount,
+                                fee_amount, total_amount, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String CLAIM_ORDERS = """
+            UPDATE orders o
+            SET status = 'PROCESSING', payment_id = c.payment_id, updated_at = ?
+            FROM unnest(?::uuid[], ?::uuid[]) AS c(id, payment_id)
+            WHERE o.id = c.id AND o.status = 'NEW'
+            RETURNING o.*
+            """;
+
+    private static final String COMPLETE_ORDERS = """
+            UPDATE orders o
+            SET status = r.status, updated_at = ?
+            FROM unnest(?::uuid[], ?::timestamp[], ?::varchar[]) AS r(id, created_at, status)
+            WHERE o.id = r.id AND o.created_at = r.created_at AND o.status = 'PROCESSING'
+            RETURNING o.id
+            """;
+
+    private static final String RELEASE_ORDERS = """
+            UPDATE orders o
+            SET status = 'NEW', payment_id = NULL, updated_at = ?
+            FROM unnest(?::uuid[], ?::timestamp[]) AS r(id, created_at)
+            WHERE o.id = r.id AND o.created_at = r.created_at AND o.status = 'PROCESSING'
+            """;
+
+    private static final String SELECT_ORDERS = "SELECT * FROM orders WHERE TRUE";
+
+    private static final RowMapper<Order> ORDER_ROW_MAPPER = (rs, rowNum) -> Order.builder()
+            .id(rs.getObject("id", UUID.class))
+            .paymentId(rs.getObject("payment_id", UUID.class))
+            .providerId(rs.getObject("provider_id", UUID.class))
+            .providerName(rs.getString("provider_name"))
+            .accountNumber(rs.getString("account_number"))
+            .baseAmount(rs.getBigDecimal("base_amount"))
+            .feeAmount(rs.getBigDecimal("fee_amount"))
+            .totalAmount(rs.getBigDecimal("total_amount"))
+            .status(Order.OrderStatus.valueOf(rs.getString("status")))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all orders as one JDBC batch, assigning IDs and timestamps the way the JPA entity
+     * callbacks do. With {@code reWriteBatchedInserts=true} on the PostgreSQL URL the driver
+     * collapses the batch into multi-row INSERT statements.
+     */
+    @Transactional
+    public List<Order> insertAll(List<Order> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Order order : orders) {
+            order.setId(UUID.randomUUID());
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            if (order.getStatus() == null) {
+                order.setStatus(Order.OrderStatus.NEW);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orders.size(), (ps, order) -> {
+            ps.setObject(1, order.getId());
+            ps.setObject(2, order.getProviderId());
+            ps.setString(3, order.getProviderName());
+            ps.setString(4, order.getAccountNumber());
+            ps.setBigDecimal(5, order.getBaseAmount());
+            ps.setBigDecimal(6, order.getFeeAmount());
+            ps.setBigDecimal(7, order.getTotalAmount());
+            ps.setString(8, order.getStatus().name());
+            ps.setObject(9, order.getCreatedAt());
+            ps.setObject(10, order.getUpdatedAt());
+        });
+        return orders;
+    }
+
+    /**
+     * Claims every order in {@code paymentIds} that is still NEW (NEW to PROCESSING) in a
+     * single statement and returns the claimed rows. Orders missing from the result were not
+     * found or already claimed.
+     */
+    public List<Order> claimAll(Map<UUID, UUID> paymentIds, LocalDateTime now) {
+        UUID[] ids = paymentIds.keySet().toArray(UUID[]::new);
+        UUID[] payments = Arrays.stream(ids).map(paymentIds::get).toArray(UUID[]::new);
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLAIM_ORDERS);
+            ps.setObject(1, now);
+            ps.setArray(2, con.createArrayOf("uuid", ids));
+            ps.setArray(3, con.createArrayOf("uuid", payments));
+            return ps;
+        }, ORDER_ROW_MAPPER);
+    }
+
+    /**
+     * Records the partner outcome in {@code results} for those of {@code orders} still in
+     * PROCESSING in a single statement. Returns the IDs that were updated. The orders are the
+     * rows {@link #claimAll} returned: matching on their {@code created_at} as well as the ID
+     * lets PostgreSQL touch only the partitions they live in.
+     */
+    public Set<UUID> completeAll(Collection<Order> orders, Map<UUID, Order.OrderStatus> results, LocalDateTime now) {
+        List<Order> completed = orders.stream().filter(order -> results.containsKey(order.getId())).toList();
+        UUID[] ids = completed.stream().map(Order::getId).toArray(UUID[]::new);
+        LocalDateTime[] createdAts = completed.stream().map(Order::getCreatedAt).toArray(LocalDateTime[]::new);
+        String[] statuses = Arrays.stream(ids).map(id -> results.get(id).name()).toArray(String[]::new);
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(COMPLETE_ORDERS);
+            ps.setObject(1, now);
+            ps.setArray(2, con.createArrayOf("uuid", ids));
+            ps.setArray(3, con.createArrayOf("timestamp", createdAts));
+            ps.setArray(4, con.createArrayOf("varchar", statuses));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class)));
+    }
+
+    /**
+     * Returns claimed orders to NEW when their partner call was never sent, so they can be
+     * disbursed again. Like {@link #completeAll}, matches on {@code created_at} as well as the ID.
+     */
+    public int releaseAll(Collection<Order> orders, LocalDateTime now) {
+        UUID[] ids = orders.stream().map(Order::getId).toArray(UUID[]::new);
+        LocalDateTime[] createdAts = orders.stream().map(Order::getCreatedAt).toArray(LocalDateTime[]::new);
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(RELEASE_ORDERS);
+            ps.setObject(1, now);
+            ps.setArray(2, con.createArrayOf("uuid", ids));
+            ps.setArray(3, con.createArrayOf("timestamp", createdAts));
+            return ps;
+        });
+    }
+
+    /**
+     * Hands every order matching {@code filter} to {@code consumer} in {@code (created_at, id)}
+     * order, reading through a server-side cursor {@code fetchSize} rows at a time so memory does
+     * not grow with the result. Must run inside a transaction: PostgreSQL ignores the fetch size
+     * and reads the whole result when auto-commit is on.
+     */
+    public void streamAll(OrderFilter filter, int fetchSize, Consumer<Order> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_ORDERS);
+        List<Object> args = new ArrayList<>();
+        if (filter.providerId() != null) {
+            sql.append(" AND provider_id = ?");
+            args.add(filter.providerId());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.accountNumber() != null) {
+            sql.append(" AND account_number = ?");
+            args.add(filter.accountNumber());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(filter.createdTo());
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(ORDER_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+}
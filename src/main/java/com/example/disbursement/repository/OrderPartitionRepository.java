@@ -0,0 +1,114 @@
+package com.example.disbursement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the monthly partitions of {@code orders} (see {@code V7__partition_orders.sql}).
+ * Statements run with auto-commit, as {@code DETACH PARTITION ... CONCURRENTLY} requires.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderPartitionRepository {
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    private static final long MAINTENANCE_LOCK_KEY = 0x6f72646572735fL;
+
+    private static final String FIND_PARTITIONS = """
+            SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound, i.inhdetachpending AS detach_pending
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'orders'::regclass
+            """;
+
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final RowMapper<OrderPartition> PARTITION_ROW_MAPPER = (rs, rowNum) -> {
+        Matcher bound = UPPER_BOUND.matcher(rs.getString("bound"));
+        return new OrderPartition(
+                rs.getString("name"),
+                bound.find() ? LocalDateTime.parse(bound.group(1), BOUND_FORMAT) : null,
+                rs.getBoolean("detach_pending"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs {@code task} while holding a session-level advisory lock, so only one replica
+     * maintains partitions at a time. Returns {@code false} without running it when another
+     * replica holds the lock.
+     */
+    public boolean runExclusively(Runnable task) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            try (PreparedStatement lock = con.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                lock.setLong(1, MAINTENANCE_LOCK_KEY);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                try (PreparedStatement unlock = con.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    unlock.setLong(1, MAINTENANCE_LOCK_KEY);
+                    unlock.execute();
+                }
+            }
+        }));
+    }
+
+    public List<OrderPartition> findPartitions() {
+        return jdbcTemplate.query(FIND_PARTITIONS, PARTITION_ROW_MAPPER);
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF orders "
+                + "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * Detaches a partition without blocking writes to {@code orders}. If this is interrupted the
+     * partition is left pending detach; {@link #finalizeDetach} completes it.
+     */
+    public void detach(String partition) {
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + quote(partition) + " CONCURRENTLY");
+    }
+
+    public void finalizeDetach(String partition) {
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + quote(partition) + " FINALIZE");
+    }
+
+    public void moveToSchema(String table, String schema) {
+        jdbcTemplate.execute("ALTER TABLE " + quote(table) + " SET SCHEMA " + quote(schema));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return String.format("orders_p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * A partition of {@code orders}; {@code upperBound} is exclusive.
+     */
+    public record OrderPartition(String name, LocalDateTime upperBound, boolean detachPending) {
+    }
+}
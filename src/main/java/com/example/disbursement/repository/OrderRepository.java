@@ -2,10 +2,59 @@ package com.example.disbursement.repository;
 
 import com.example.disbursement.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
+
+    /**
+     * Moves an order from {@code expected} to {@code target} in its own short transaction.
+     * Returns the number of updated rows, so {@code 0} means the order was not in the expected state.
+     * {@code createdAt} is the partition key, so the update only touches the order's own partition.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :target, o.paymentId = :paymentId, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.createdAt = :createdAt AND o.status = :expected")
+    int compareAndSetStatus(@Param("id") UUID id,
+                            @Param("createdAt") LocalDateTime createdAt,
+                            @Param("expected") Order.OrderStatus expected,
+                            @Param("target") Order.OrderStatus target,
+                            @Param("paymentId") UUID paymentId,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * Re-stamps an order that still has the observed status and timestamp, so that only one
+     * recovery sweeper across all replicas picks up a stale order.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.createdAt = :createdAt AND o.status = :status AND o.updatedAt = :observed")
+    int touchIfUnchanged(@Param("id") UUID id,
+                         @Param("createdAt") LocalDateTime createdAt,
+                         @Param("status") Order.OrderStatus status,
+                         @Param("observed") LocalDateTime observed,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Orders stuck in PROCESSING since before {@code cutoff}. Orders with a pending
+     * {@code disbursement_outbox} entry are left to the outbox workers, which retry them on
+     * their own schedule.
+     */
+    @Query(value = "SELECT o.* FROM orders o " +
+            "WHERE o.status = 'PROCESSING' AND o.updated_at < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM disbursement_outbox d WHERE d.order_id = o.id) " +
+            "ORDER BY o.updated_at LIMIT :limit",
+            nativeQuery = true)
+    List<Order> findStaleProcessingOrders(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
@@ -0,0 +1,100 @@
+package com.example.disbursement.repository;
+
+import com.example.disbursement.entity.Order;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * R2DBC counterpart of {@link OrderRepository} used by the {@code reactive} profile.
+ * Every statement runs in auto-commit mode, mirroring the short transactions of the JPA path.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveOrderRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Order> findById(UUID id) {
+        return databaseClient.sql("SELECT * FROM orders WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveOrderRepository::toOrder)
+                .one();
+    }
+
+    /**
+     * Inserts a new order, assigning the ID and timestamps the way the JPA entity callbacks do.
+     */
+    public Mono<Order> insert(Order order) {
+        LocalDateTime now = LocalDateTime.now();
+        order.setId(UUID.randomUUID());
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        if (order.getStatus() == null) {
+            order.setStatus(Order.OrderStatus.NEW);
+        }
+
+        return databaseClient.sql("""
+                        INSERT INTO orders (id, provider_id, provider_name, account_number, base_amount,
+                                            fee_amount, total_amount, status, created_at, updated_at)
+                        VALUES (:id, :providerId, :providerName, :accountNumber, :baseAmount,
+                                :feeAmount, :totalAmount, :status, :createdAt, :updatedAt)
+                        """)
+                .bind("id", order.getId())
+                .bind("providerId", order.getProviderId())
+                .bind("providerName", order.getProviderName())
+                .bind("accountNumber", order.getAccountNumber())
+                .bind("baseAmount", order.getBaseAmount())
+                .bind("feeAmount", order.getFeeAmount())
+                .bind("totalAmount", order.getTotalAmount())
+                .bind("status", order.getStatus().name())
+                .bind("createdAt", order.getCreatedAt())
+                .bind("updatedAt", order.getUpdatedAt())
+                .then()
+                .thenReturn(order);
+    }
+
+    /**
+     * See {@link OrderRepository#compareAndSetStatus}.
+     */
+    public Mono<Long> compareAndSetStatus(UUID id, LocalDateTime createdAt, Order.OrderStatus expected,
+                                          Order.OrderStatus target, UUID paymentId, LocalDateTime now) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        UPDATE orders SET status = :target, payment_id = :paymentId, updated_at = :now
+                        WHERE id = :id AND created_at = :createdAt AND status = :expected
+                        """)
+                .bind("target", target.name());
+        spec = paymentId != null ? spec.bind("paymentId", paymentId) : spec.bindNull("paymentId", UUID.class);
+        return spec
+                .bind("now", now)
+                .bind("id", id)
+                .bind("createdAt", createdAt)
+                .bind("expected", expected.name())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Order toOrder(Readable row) {
+        return Order.builder()
+                .id(row.get("id", UUID.class))
+                .paymentId(row.get("payment_id", UUID.class))
+                .providerId(row.get("provider_id", UUID.class))
+                .providerName(row.get("provider_name", String.class))
+                .accountNumber(row.get("account_number", String.class))
+                .baseAmount(row.get("base_amount", BigDecimal.class))
+                .feeAmount(row.get("fee_amount", BigDecimal.class))
+                .totalAmount(row.get("total_amount", BigDecimal.class))
+                .status(Order.OrderStatus.valueOf(row.get("status", String.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
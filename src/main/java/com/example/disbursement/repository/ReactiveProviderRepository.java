@@ -0,0 +1,70 @@
+package com.example.disbursement.repository;
+
+import com.example.disbursement.entity.Provider;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * R2DBC counterpart of {@link ProviderRepository} used by the {@code reactive} profile.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProviderRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Provider> findById(UUID id) {
+        return databaseClient.sql("SELECT * FROM providers WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProviderRepository::toProvider)
+                .one();
+    }
+
+    public Flux<Provider> findAll() {
+        return databaseClient.sql("SELECT * FROM providers")
+                .map(ReactiveProviderRepository::toProvider)
+                .all();
+    }
+
+    /**
+     * Inserts a new provider, assigning the ID and creation time the way the JPA entity callbacks do.
+     */
+    public Mono<Provider> insert(Provider provider) {
+        provider.setId(UUID.randomUUID());
+        provider.setCreatedAt(LocalDateTime.now());
+
+        return databaseClient.sql("""
+                        INSERT INTO providers (id, name, fee_amount, validate_api_url, disbursement_api_url, created_at)
+                        VALUES (:id, :name, :feeAmount, :validateApiUrl, :disbursementApiUrl, :createdAt)
+                        """)
+                .bind("id", provider.getId())
+                .bind("name", provider.getName())
+                .bind("feeAmount", provider.getFeeAmount())
+                .bind("validateApiUrl", provider.getValidateApiUrl())
+                .bind("disbursementApiUrl", provider.getDisbursementApiUrl())
+                .bind("createdAt", provider.getCreatedAt())
+                .then()
+                .thenReturn(provider);
+    }
+
+    private static Provider toProvider(Readable row) {
+        return Provider.builder()
+                .id(row.get("id", UUID.class))
+                .name(row.get("name", String.class))
+                .feeAmount(row.get("fee_amount", BigDecimal.class))
+                .validateApiUrl(row.get("validate_api_url", String.class))
+                .disbursementApiUrl(row.get("disbursement_api_url", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+}
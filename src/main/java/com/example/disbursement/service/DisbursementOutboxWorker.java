@@ -0,0 +1,122 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.repository.DisbursementOutboxRepository;
+import com.example.disbursement.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the disbursement outbox written by {@link OrderService#enqueueDisbursement}. Each poll
+ * leases at most as many entries as there are idle workers, so replicas share the queue through
+ * {@code SKIP LOCKED} alone. A worker calls the partner, records the result and deletes the
+ * entry; a failed attempt is rescheduled with exponential backoff and the order stays
+ * PROCESSING until it succeeds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "disbursement.outbox", name = "enabled", havingValue = "true")
+public class DisbursementOutboxWorker implements DisposableBean {
+
+    private final DisbursementOutboxRepository outboxRepository;
+    private final OrderRepository orderRepository;
+    private final ProviderService providerService;
+    private final OrderService orderService;
+
+    @Value("${disbursement.outbox.workers:16}")
+    private int workers;
+
+    @Value("${disbursement.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${disbursement.outbox.retry-backoff:PT1S}")
+    private Duration retryBackoff;
+
+    @Value("${disbursement.outbox.max-retry-backoff:PT5M}")
+    private Duration maxRetryBackoff;
+
+    private ExecutorService executor;
+    private Semaphore idleWorkers;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("outbox-worker-"));
+        idleWorkers = new Semaphore(workers);
+    }
+
+    @Scheduled(fixedDelayString = "${disbursement.outbox.poll-interval:PT0.5S}")
+    public void poll() {
+        int capacity = idleWorkers.availablePermits();
+        if (capacity == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DisbursementOutboxRepository.Entry> entries = outboxRepository.claim(capacity, now, now.plus(lease));
+        for (DisbursementOutboxRepository.Entry entry : entries) {
+            // Only this thread acquires, so the permits counted above are still there
+            idleWorkers.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    process(entry);
+                } finally {
+                    idleWorkers.release();
+                }
+            });
+        }
+    }
+
+    void process(DisbursementOutboxRepository.Entry entry) {
+        Order order = orderRepository.findById(entry.orderId()).orElse(null);
+        if (order == null || order.getStatus() != Order.OrderStatus.PROCESSING
+                || !entry.paymentId().equals(order.getPaymentId())) {
+            // Finished by a worker whose lease ran out before it could delete the entry
+            log.debug("Dropping outbox entry {} for order {} that is no longer pending", entry.id(), entry.orderId());
+            outboxRepository.delete(entry.id());
+            return;
+        }
+
+        try {
+            ProviderSnapshot provider = providerService.getProviderSnapshot(order.getProviderId());
+            orderService.completeDisbursement(order, provider);
+            outboxRepository.delete(entry.id());
+        } catch (RuntimeException e) {
+            Duration delay = backoff(entry.attempts());
+            log.warn("Disbursement of order {} failed on attempt {}, retrying in {}: {}",
+                    entry.orderId(), entry.attempts(), delay, e.getMessage());
+            outboxRepository.reschedule(entry.id(), LocalDateTime.now().plus(delay));
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = retryBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Unfinished entries are picked up again once their lease runs out
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
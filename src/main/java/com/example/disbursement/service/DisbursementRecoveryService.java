@@ -0,0 +1,71 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Re-drives disbursements for orders left in PROCESSING, e.g. after a crash between the
+ * claim and the result transaction of {@link OrderService#disburseOrder}. The partner call is
+ * repeated with the original order and payment IDs. Orders queued in the disbursement outbox
+ * belong to {@link DisbursementOutboxWorker} and are not touched here.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "disbursement.recovery", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DisbursementRecoveryService {
+
+    private final OrderRepository orderRepository;
+    private final ProviderService providerService;
+    private final OrderService orderService;
+
+    @Value("${disbursement.recovery.stale-after:PT5M}")
+    private Duration staleAfter;
+
+    @Value("${disbursement.recovery.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${disbursement.recovery.interval:PT1M}",
+            initialDelayString = "${disbursement.recovery.interval:PT1M}")
+    public void recoverStaleDisbursements() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+        List<Order> staleOrders = orderRepository.findStaleProcessingOrders(cutoff, batchSize);
+        if (staleOrders.isEmpty()) {
+            return;
+        }
+
+        log.info("Recovering {} orders stuck in PROCESSING since before {}", staleOrders.size(), cutoff);
+        for (Order order : staleOrders) {
+            recover(order);
+        }
+    }
+
+    private void recover(Order order) {
+        // Re-stamp first so that a sweeper on another replica skips this order
+        LocalDateTime now = LocalDateTime.now();
+        if (orderRepository.touchIfUnchanged(
+                order.getId(), order.getCreatedAt(), Order.OrderStatus.PROCESSING, order.getUpdatedAt(), now) == 0) {
+            log.debug("Order {} already recovered elsewhere", order.getId());
+            return;
+        }
+        order.setUpdatedAt(now);
+
+        try {
+            ProviderSnapshot provider = providerService.getProviderSnapshot(order.getProviderId());
+            orderService.completeDisbursement(order, provider);
+        } catch (RuntimeException e) {
+            log.error("Recovery of order {} failed, will retry: {}", order.getId(), e.getMessage());
+        }
+    }
+}
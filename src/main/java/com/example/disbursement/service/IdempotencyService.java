@@ -0,0 +1,166 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.CacheConfig;
+import com.example.disbursement.entity.IdempotencyKey;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Implements the {@code Idempotency-Key} contract: the first request with a key runs and its
+ * serialized response is stored; later requests with the same key and body get the stored
+ * bytes back without running again. Completed responses are served from a bounded in-memory
+ * cache in front of the {@code idempotency_keys} table. Only successful responses are stored;
+ * a request that fails releases its key so the client can retry. A reservation is leased and
+ * the lease refreshed while the request runs, so a key left behind by a crashed instance can be
+ * taken over by a retry once the lease runs out rather than when the key expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    // Keys reserved by requests running on this instance, with the time each was reserved
+    private final Map<String, LocalDateTime> inProgress = new ConcurrentHashMap<>();
+
+    @Value("${disbursement.idempotency.keys.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${disbursement.idempotency.keys.lease:PT30S}")
+    private Duration lease;
+
+    /**
+     * Runs {@code action} once per key. {@code scope} and {@code request} make up the request
+     * fingerprint; reusing a key with a different fingerprint is rejected.
+     */
+    public StoredResponse execute(String key, String scope, Object request, int successStatus,
+                                  Supplier<Object> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        byte[] fingerprint = fingerprint(scope, request);
+
+        Cache cache = responseCache();
+        StoredResponse cached = cache.get(key, StoredResponse.class);
+        if (cached != null) {
+            return replay(key, cached, fingerprint);
+        }
+
+        // The reservation time identifies this reservation, so keep it to what the column stores
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (idempotencyKeyRepository.reserve(key, fingerprint, now, now.plus(ttl), now.plus(lease)) == 0) {
+            IdempotencyKey existing = idempotencyKeyRepository.findById(key)
+                    .orElseThrow(() -> new IllegalStateException("A request with this Idempotency-Key is in progress"));
+            if (existing.getResponseBody() == null) {
+                if (!Arrays.equals(existing.getRequestFingerprint(), fingerprint)) {
+                    throw reusedKey();
+                }
+                throw new IllegalStateException("A request with this Idempotency-Key is in progress");
+            }
+            StoredResponse stored = new StoredResponse(
+                    existing.getRequestFingerprint(), existing.getStatusCode(), existing.getResponseBody(), true);
+            cache.put(key, stored);
+            return replay(key, stored, fingerprint);
+        }
+
+        byte[] body;
+        inProgress.put(key, now);
+        try {
+            body = objectMapper.writeValueAsBytes(action.get());
+        } catch (JsonProcessingException e) {
+            idempotencyKeyRepository.release(key, now);
+            throw new IllegalStateException("Could not serialize response", e);
+        } catch (RuntimeException e) {
+            idempotencyKeyRepository.release(key, now);
+            throw e;
+        } finally {
+            inProgress.remove(key, now);
+        }
+
+        StoredResponse stored = new StoredResponse(fingerprint, successStatus, body, false);
+        if (idempotencyKeyRepository.complete(key, now, successStatus, body) == 0) {
+            // Another request took the key over; its response is the one replayed from now on
+            log.warn("Idempotency-Key {} was taken over after its lease ran out", key);
+            return stored;
+        }
+        cache.put(key, stored.asReplay());
+        return stored;
+    }
+
+    @Scheduled(fixedDelayString = "${disbursement.idempotency.keys.lease-refresh-interval:PT10S}",
+            initialDelayString = "${disbursement.idempotency.keys.lease-refresh-interval:PT10S}")
+    public void refreshLeases() {
+        if (inProgress.isEmpty()) {
+            return;
+        }
+        idempotencyKeyRepository.extendLeases(List.copyOf(inProgress.keySet()), LocalDateTime.now().plus(lease));
+    }
+
+    @Scheduled(fixedDelayString = "${disbursement.idempotency.keys.sweep-interval:PT10M}",
+            initialDelayString = "${disbursement.idempotency.keys.sweep-interval:PT10M}")
+    public void sweepExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private StoredResponse replay(String key, StoredResponse stored, byte[] fingerprint) {
+        if (!Arrays.equals(stored.fingerprint(), fingerprint)) {
+            throw reusedKey();
+        }
+        log.debug("Replaying response for Idempotency-Key {}", key);
+        return stored;
+    }
+
+    private Cache responseCache() {
+        return cacheManager.getCache(CacheConfig.IDEMPOTENCY_CACHE);
+    }
+
+    private byte[] fingerprint(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return digest.digest(objectMapper.writeValueAsBytes(request));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private static ValidationException reusedKey() {
+        return new ValidationException("Idempotency-Key was already used with a different request");
+    }
+
+    public record StoredResponse(byte[] fingerprint, int status, byte[] body, boolean replayed) {
+
+        StoredResponse asReplay() {
+            return new StoredResponse(fingerprint, status, body, true);
+        }
+    }
+}
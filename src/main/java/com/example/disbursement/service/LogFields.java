@@ -0,0 +1,23 @@
+package com.example.disbursement.service;
+
+/**
+ * Values safe to put in log events.
+ */
+final class LogFields {
+
+    private static final int VISIBLE_ACCOUNT_DIGITS = 4;
+
+    private LogFields() {
+    }
+
+    /**
+     * The account number with all but its last four characters masked.
+     */
+    static String maskAccount(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() <= VISIBLE_ACCOUNT_DIGITS) {
+            return "****";
+        }
+        int masked = accountNumber.length() - VISIBLE_ACCOUNT_DIGITS;
+        return "*".repeat(masked) + accountNumber.substring(masked);
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.dto.jsonapi.JsonApiError;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.OrderJdbcRepository;
+import com.example.disbursement.repository.OrderRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk variants of the {@link OrderService} operations. Items are processed independently and
+ * reported one result per request item, in request order, so a single bad item does not fail
+ * the whole batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBatchService {
+
+    // Disbursed items report the lower-cased order status instead
+    public static final String RESULT_CREATED = "created";
+    public static final String RESULT_REJECTED = "rejected";
+
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final OrderRepository orderRepository;
+    private final ProviderService providerService;
+    private final PartnerApiService partnerApiService;
+    private final Validator validator;
+
+    @Value("${disbursement.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${disbursement.batch.validate-concurrency:32}")
+    private int validateConcurrency;
+
+    @Value("${disbursement.batch.disburse-concurrency-per-provider:8}")
+    private int disburseConcurrencyPerProvider;
+
+    /**
+     * Creates load orders in bulk. Attribute and provider checks run first, then the partner
+     * validate calls run concurrently, and the accepted orders are inserted as one JDBC batch.
+     * Each returned item carries {@code meta.index} and {@code meta.result}; rejected items echo
+     * the submitted attributes and carry the reason in {@code meta.error}.
+     */
+    public List<JsonApiData<OrderDto>> createLoadOrders(List<OrderDto> dtos) {
+        checkBatchSize(dtos);
+        log.debug("Creating {} load orders in batch", dtos.size());
+
+        // Local checks and provider lookups stay on the calling thread; cache misses hit the database
+        List<JsonApiData<OrderDto>> results = new ArrayList<>(dtos.size());
+        List<Candidate> candidates = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            OrderDto dto = dtos.get(i);
+            results.add(null);
+            try {
+                candidates.add(toCandidate(i, dto));
+            } catch (ValidationException e) {
+                results.set(i, rejected(i, dto, "422", "Validation Error", e.getMessage(), "VALIDATION_ERROR"));
+            } catch (ResourceNotFoundException e) {
+                results.set(i, rejected(i, dto, "404", "Not Found", e.getMessage(), "RESOURCE_NOT_FOUND"));
+            }
+        }
+
+        // Partner validation fans out with bounded concurrency; outcomes keep candidate order
+        List<Optional<JsonApiError>> outcomes = Flux.fromIterable(candidates)
+                .flatMapSequential(this::validate, validateConcurrency)
+                .collectList()
+                .block();
+
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        for (int c = 0; c < candidates.size(); c++) {
+            Candidate candidate = candidates.get(c);
+            outcomes.get(c).ifPresentOrElse(
+                    error -> results.set(candidate.index(), rejected(candidate.index(), dtos.get(candidate.index()), error)),
+                    () -> accepted.add(candidate));
+        }
+
+        if (!accepted.isEmpty()) {
+            orderJdbcRepository.insertAll(accepted.stream().map(Candidate::order).toList());
+        }
+        for (Candidate candidate : accepted) {
+            results.set(candidate.index(), created(candidate.index(), candidate.order()));
+        }
+
+        log.info("Batch created {} of {} orders", accepted.size(), dtos.size());
+        return results;
+    }
+
+    /**
+     * Disburses many orders at once. Each item carries the order ID as {@code id} and the
+     * payment ID in its attributes. The orders are claimed (NEW to PROCESSING) in one set-based
+     * update, the partner calls fan out with at most
+     * {@code disbursement.batch.disburse-concurrency-per-provider} in flight per provider, and the
+     * outcomes are written back in one update. Orders turned away by the provider's bulkhead,
+     * and orders whose provider no longer exists, go back to NEW; orders whose partner call
+     * errored stay in PROCESSING and are finished by {@link DisbursementRecoveryService}.
+     */
+    public List<JsonApiData<OrderDto>> disburseOrders(List<JsonApiData<OrderDto>> items) {
+        checkBatchSize(items);
+        log.debug("Disbursing {} orders in batch", items.size());
+
+        List<JsonApiData<OrderDto>> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        Map<UUID, UUID> paymentIds = new LinkedHashMap<>();
+        Map<UUID, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            JsonApiData<OrderDto> item = items.get(i);
+            UUID orderId;
+            UUID paymentId;
+            try {
+                orderId = UUID.fromString(item.getId());
+                paymentId = UUID.fromString(item.getAttributes().getPaymentId());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                results.set(i, rejected(i, item.getAttributes(), "422", "Validation Error",
+                        "id and paymentId must be valid UUIDs", "VALIDATION_ERROR"));
+                continue;
+            }
+            if (indexes.putIfAbsent(orderId, i) != null) {
+                results.set(i, rejected(i, item.getAttributes(), "422", "Validation Error",
+                        "Order appears more than once in the batch: " + orderId, "VALIDATION_ERROR"));
+                continue;
+            }
+            paymentIds.put(orderId, paymentId);
+        }
+
+        List<Order> claimed = paymentIds.isEmpty()
+                ? List.of()
+                : orderJdbcRepository.claimAll(paymentIds, LocalDateTime.now());
+        rejectUnclaimed(items, results, indexes, paymentIds, claimed);
+
+        Map<UUID, ProviderSnapshot> providers = resolveProviders(claimed);
+        List<Order> disbursable = new ArrayList<>(claimed.size());
+        List<Order> unresolved = new ArrayList<>();
+        for (Order order : claimed) {
+            (providers.containsKey(order.getProviderId()) ? disbursable : unresolved).add(order);
+        }
+        if (!unresolved.isEmpty()) {
+            orderJdbcRepository.releaseAll(unresolved, LocalDateTime.now());
+            for (Order order : unresolved) {
+                int index = indexes.get(order.getId());
+                results.set(index, rejected(index, items.get(index).getAttributes(), "404", "Not Found",
+                        "Provider not found with ID: " + order.getProviderId(), "RESOURCE_NOT_FOUND"));
+            }
+        }
+
+        Map<UUID, Order.OrderStatus> outcomes = disburseByProvider(disbursable, providers);
+
+        Map<UUID, Order.OrderStatus> statuses = new HashMap<>();
+        Set<UUID> released = new HashSet<>();
+        outcomes.forEach((orderId, status) -> {
+            if (status == Order.OrderStatus.NEW) {
+                released.add(orderId);
+            } else {
+                statuses.put(orderId, status);
+            }
+        });
+        LocalDateTime completedAt = LocalDateTime.now();
+        Set<UUID> recorded = statuses.isEmpty()
+                ? Set.of()
+                : orderJdbcRepository.completeAll(disbursable, statuses, completedAt);
+        if (!released.isEmpty()) {
+            orderJdbcRepository.releaseAll(
+                    disbursable.stream().filter(order -> released.contains(order.getId())).toList(), completedAt);
+        }
+
+        for (Order order : disbursable) {
+            int index = indexes.get(order.getId());
+            if (released.contains(order.getId())) {
+                results.set(index, rejected(index, items.get(index).getAttributes(), "503", "Service Unavailable",
+                        "Provider " + order.getProviderId() + " is at its concurrency limit", "PARTNER_UNAVAILABLE"));
+                continue;
+            }
+            if (recorded.contains(order.getId())) {
+                order.setStatus(statuses.get(order.getId()));
+                order.setUpdatedAt(completedAt);
+            } else if (statuses.containsKey(order.getId())) {
+                log.warn("Order {} was no longer PROCESSING when recording result {}",
+                        order.getId(), statuses.get(order.getId()));
+                order = orderRepository.findById(order.getId()).orElse(order);
+            }
+            results.set(index, processed(index, order));
+        }
+
+        // Rejected items echo the requested order ID so callers can match them without the index
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).getId() == null) {
+                results.get(i).setId(items.get(i).getId());
+            }
+        }
+
+        log.info("Batch disbursed {} of {} orders: {} recorded", disbursable.size(), items.size(), recorded.size());
+        return results;
+    }
+
+    /**
+     * Reports orders the claim skipped. A retry with the payment ID that already claimed the
+     * order gets the stored order back, as in {@link OrderService#disburseOrder}, without waiting
+     * for orders still in PROCESSING.
+     */
+    private void rejectUnclaimed(List<JsonApiData<OrderDto>> items, List<JsonApiData<OrderDto>> results,
+                                 Map<UUID, Integer> indexes, Map<UUID, UUID> paymentIds, List<Order> claimed) {
+        Set<UUID> unclaimed = new HashSet<>(paymentIds.keySet());
+        claimed.forEach(order -> unclaimed.remove(order.getId()));
+        if (unclaimed.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Order> existing = orderRepository.findAllById(unclaimed).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        for (UUID orderId : unclaimed) {
+            int index = indexes.get(orderId);
+            OrderDto dto = items.get(index).getAttributes();
+            Order order = existing.get(orderId);
+            if (order != null && paymentIds.get(orderId).equals(order.getPaymentId())) {
+                results.set(index, processed(index, order));
+                continue;
+            }
+            results.set(index, order == null
+                    ? rejected(index, dto, "404", "Not Found", "Order not found with ID: " + orderId, "RESOURCE_NOT_FOUND")
+                    : rejected(index, dto, "409", "Conflict",
+                            "Order cannot be disbursed. Current status: " + order.getStatus(), "ILLEGAL_STATE"));
+        }
+    }
+
+    /**
+     * Looks up the provider of every claimed order before any partner call is made. Providers
+     * that no longer exist are left out of the map, so their orders can be released and rejected
+     * one by one. Any other lookup failure releases the whole claim before it propagates, rather
+     * than leaving orders that were never sent in PROCESSING for {@link DisbursementRecoveryService}.
+     */
+    private Map<UUID, ProviderSnapshot> resolveProviders(List<Order> claimed) {
+        Map<UUID, ProviderSnapshot> providers = new HashMap<>();
+        try {
+            for (UUID providerId : claimed.stream().map(Order::getProviderId).collect(Collectors.toSet())) {
+                try {
+                    providers.put(providerId, providerService.getProviderSnapshot(providerId));
+                } catch (ResourceNotFoundException e) {
+                    log.warn("Releasing batch orders of missing provider {}", providerId);
+                }
+            }
+        } catch (RuntimeException e) {
+            orderJdbcRepository.releaseAll(claimed, LocalDateTime.now());
+            throw e;
+        }
+        return providers;
+    }
+
+    /**
+     * Calls the partner disbursement API for every claimed order, all providers in parallel and
+     * each provider bounded separately so one slow partner cannot hold the others back. Maps
+     * each order to SUCCESS or FAILED, or to NEW when the provider's bulkhead turned the call
+     * away before it was sent. Orders whose call errored are absent from the returned map.
+     */
+    private Map<UUID, Order.OrderStatus> disburseByProvider(List<Order> claimed, Map<UUID, ProviderSnapshot> providers) {
+        if (claimed.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, List<Order>> byProvider = claimed.stream()
+                .collect(Collectors.groupingBy(Order::getProviderId));
+
+        return Flux.fromIterable(byProvider.entrySet())
+                .flatMap(group -> Flux.fromIterable(group.getValue())
+                                .flatMap(order -> disburse(order, providers.get(group.getKey())),
+                                        disburseConcurrencyPerProvider),
+                        byProvider.size())
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+    }
+
+    private Mono<Map.Entry<UUID, Order.OrderStatus>> disburse(Order order, ProviderSnapshot provider) {
+        return partnerApiService.disburseLoadAsync(
+                        provider,
+                        order.getId(),
+                        order.getPaymentId(),
+                        order.getAccountNumber(),
+                        order.getBaseAmount())
+                .map(success -> Map.entry(order.getId(),
+                        success ? Order.OrderStatus.SUCCESS : Order.OrderStatus.FAILED))
+                .onErrorResume(PartnerUnavailableException.class,
+                        e -> Mono.just(Map.entry(order.getId(), Order.OrderStatus.NEW)))
+                .onErrorResume(e -> {
+                    log.error("Disbursement call failed for order {}, leaving it for recovery: {}",
+                            order.getId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new ValidationException("Batch must not contain more than " + maxBatchSize + " items");
+        }
+    }
+
+    private Candidate toCandidate(int index, OrderDto dto) {
+        Set<ConstraintViolation<OrderDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (dto.getProviderId() == null || dto.getAccountNumber() == null || dto.getAmount() == null) {
+            throw new ValidationException("providerId, accountNumber and amount are required");
+        }
+
+        UUID providerId;
+        try {
+            providerId = UUID.fromString(dto.getProviderId());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("providerId: must be a valid UUID");
+        }
+        ProviderSnapshot provider = providerService.getProviderSnapshot(providerId);
+
+        Order order = Order.builder()
+                .providerId(providerId)
+                .providerName(provider.name())
+                .accountNumber(dto.getAccountNumber())
+                .baseAmount(dto.getAmount())
+                .feeAmount(provider.feeAmount())
+                .totalAmount(dto.getAmount().add(provider.feeAmount()))
+                .status(Order.OrderStatus.NEW)
+                .build();
+        return new Candidate(index, order, provider);
+    }
+
+    /**
+     * Emits an empty {@link Optional} when the partner accepts the load and the rejection
+     * otherwise, so that every candidate produces exactly one element.
+     */
+    private Mono<Optional<JsonApiError>> validate(Candidate candidate) {
+        Order order = candidate.order();
+        return partnerApiService.validateLoadAsync(
+                        candidate.provider(), order.getAccountNumber(), order.getBaseAmount())
+                .then(Mono.just(Optional.<JsonApiError>empty()))
+                .onErrorResume(ValidationException.class, e -> Mono.just(Optional.of(JsonApiError.builder()
+                        .status("422")
+                        .title("Validation Error")
+                        .detail(e.getMessage())
+                        .code("VALIDATION_ERROR")
+                        .build())))
+                .onErrorResume(PartnerUnavailableException.class, e -> Mono.just(Optional.of(JsonApiError.builder()
+                        .status("503")
+                        .title("Service Unavailable")
+                        .detail(e.getMessage())
+                        .code("PARTNER_UNAVAILABLE")
+                        .build())))
+                .onErrorResume(e -> {
+                    log.error("Partner validation failed for provider {}: {}", order.getProviderId(), e.getMessage());
+                    return Mono.just(Optional.of(JsonApiError.builder()
+                            .status("500")
+                            .title("Internal Server Error")
+                            .detail("An unexpected error occurred")
+                            .code("INTERNAL_ERROR")
+                            .build()));
+                });
+    }
+
+    private static JsonApiData<OrderDto> created(int index, Order order) {
+        JsonApiData<OrderDto> data = OrderService.toJsonApiData(order);
+        data.setMeta(meta(index, RESULT_CREATED, null));
+        return data;
+    }
+
+    private static JsonApiData<OrderDto> processed(int index, Order order) {
+        JsonApiData<OrderDto> data = OrderService.toJsonApiData(order);
+        data.setMeta(meta(index, order.getStatus().name().toLowerCase(Locale.ROOT), null));
+        return data;
+    }
+
+    private static JsonApiData<OrderDto> rejected(int index, OrderDto dto,
+                                                  String status, String title, String detail, String code) {
+        return rejected(index, dto, JsonApiError.builder()
+                .status(status)
+                .title(title)
+                .detail(detail)
+                .code(code)
+                .build());
+    }
+
+    private static JsonApiData<OrderDto> rejected(int index, OrderDto dto, JsonApiError error) {
+        return JsonApiData.<OrderDto>builder()
+                .type("orders")
+                .attributes(dto)
+                .meta(meta(index, RESULT_REJECTED, error))
+                .build();
+    }
+
+    private static Map<String, Object> meta(int index, String result, JsonApiError error) {
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("index", index);
+        meta.put("result", result);
+        if (error != null) {
+            meta.put("error", error);
+        }
+        return meta;
+    }
+
+    private record Candidate(int index, Order order, ProviderSnapshot provider) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderFilter;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.OrderJdbcRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Writes orders straight from a database cursor to an output stream, one row at a time, so an
+ * export of millions of orders needs no more memory than one of ten. Used for daily
+ * reconciliation against the partners.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private static final String CSV_HEADER = "id,paymentId,providerId,providerName,accountNumber,"
+            + "baseAmount,feeAmount,totalAmount,status,createdAt,updatedAt\r\n";
+
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory;
+
+    @Value("${disbursement.orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public OrderExportService(OrderJdbcRepository orderJdbcRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper) {
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Writes every order matching {@code filter} to {@code out} in {@code (createdAt, id)} order
+     * and returns the number written. {@code out} is flushed but not closed.
+     */
+    public long export(OrderFilter filter, Format format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = {0};
+        try {
+            // The cursor only streams inside a transaction; it stays open until the last row is written
+            readOnlyTransaction.executeWithoutResult(status ->
+                    orderJdbcRepository.streamAll(filter, fetchSize, order -> {
+                        try {
+                            writer.write(order);
+                            rows[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the transaction has been rolled back and the cursor closed
+            throw e.getCause();
+        }
+        writer.finish();
+
+        log.info("Exported {} orders as {} in {} ms", rows[0], format,
+                (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format fromParameter(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("format must be ndjson or csv");
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void write(Order order) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /** One JSON object per line, written by a single generator reused across rows. */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            generator = jsonFactory.createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Order order) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", order.getId().toString());
+            generator.writeStringField("paymentId", Objects.toString(order.getPaymentId(), null));
+            generator.writeStringField("providerId", order.getProviderId().toString());
+            generator.writeStringField("providerName", order.getProviderName());
+            generator.writeStringField("accountNumber", order.getAccountNumber());
+            generator.writeNumberField("baseAmount", order.getBaseAmount());
+            generator.writeNumberField("feeAmount", order.getFeeAmount());
+            generator.writeNumberField("totalAmount", order.getTotalAmount());
+            generator.writeStringField("status", order.getStatus().name());
+            generator.writeStringField("createdAt", Objects.toString(order.getCreatedAt(), null));
+            generator.writeStringField("updatedAt", Objects.toString(order.getUpdatedAt(), null));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    /** RFC 4180 CSV with a header row. */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(Order order) throws IOException {
+            writer.write(order.getId().toString());
+            writer.write(',');
+            writer.write(Objects.toString(order.getPaymentId(), ""));
+            writer.write(',');
+            writer.write(order.getProviderId().toString());
+            writer.write(',');
+            writeField(order.getProviderName());
+            writer.write(',');
+            writeField(order.getAccountNumber());
+            writer.write(',');
+            writer.write(order.getBaseAmount().toPlainString());
+            writer.write(',');
+            writer.write(order.getFeeAmount().toPlainString());
+            writer.write(',');
+            writer.write(order.getTotalAmount().toPlainString());
+            writer.write(',');
+            writer.write(order.getStatus().name());
+            writer.write(',');
+            writer.write(Objects.toString(order.getCreatedAt(), ""));
+            writer.write(',');
+            writer.write(Objects.toString(order.getUpdatedAt(), ""));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.repository.OrderPartitionRepository;
+import com.example.disbursement.repository.OrderPartitionRepository.OrderPartition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the monthly partitions of {@code orders} ahead of the calendar and moves expired ones
+ * out of it. Partitions for the next {@code months-ahead} months always exist, so inserts never
+ * find their month missing. A partition whose newest possible order is older than
+ * {@code retention-months} is detached without blocking writes and moved to
+ * {@code archive-schema}, where it can be dumped and dropped. One replica at a time does this,
+ * under an advisory lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "disbursement.orders.partitions", name = "enabled", havingValue = "true")
+public class OrderPartitionMaintenance {
+
+    private final OrderPartitionRepository partitionRepository;
+
+    @Value("${disbursement.orders.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${disbursement.orders.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${disbursement.orders.partitions.archive-schema:archive}")
+    private String archiveSchema;
+
+    @Scheduled(fixedDelayString = "${disbursement.orders.partitions.interval:PT6H}",
+            initialDelayString = "${disbursement.orders.partitions.initial-delay:PT30S}")
+    public void maintainPartitions() {
+        if (!partitionRepository.runExclusively(() -> maintain(YearMonth.now()))) {
+            log.debug("Order partitions are being maintained by another replica");
+        }
+    }
+
+    void maintain(YearMonth current) {
+        List<OrderPartition> partitions = partitionRepository.findPartitions();
+
+        // A detach interrupted last time has to be finished before anything else
+        for (OrderPartition partition : partitions) {
+            if (partition.detachPending()) {
+                run("finalize detach of " + partition.name(), () -> {
+                    partitionRepository.finalizeDetach(partition.name());
+                    archive(partition.name());
+                });
+            }
+        }
+
+        for (YearMonth month : monthsToCreate(partitions, current, monthsAhead)) {
+            run("create partition for " + month, () -> {
+                partitionRepository.createMonthlyPartition(month);
+                log.info("Created order partition {}", OrderPartitionRepository.partitionName(month));
+            });
+        }
+
+        if (retentionMonths > 0) {
+            LocalDateTime cutoff = current.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+            for (OrderPartition partition : expired(partitions, cutoff)) {
+                run("detach of " + partition.name(), () -> {
+                    partitionRepository.detach(partition.name());
+                    archive(partition.name());
+                    log.info("Detached expired order partition {}", partition.name());
+                });
+            }
+        }
+    }
+
+    /**
+     * Months from the end of the newest partition through {@code current + monthsAhead}.
+     */
+    static List<YearMonth> monthsToCreate(List<OrderPartition> partitions, YearMonth current, int monthsAhead) {
+        YearMonth next = partitions.stream()
+                .map(OrderPartition::upperBound)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .map(YearMonth::from)
+                .orElse(current);
+        YearMonth last = current.plusMonths(monthsAhead);
+
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Partitions holding nothing newer than {@code cutoff}.
+     */
+    static List<OrderPartition> expired(List<OrderPartition> partitions, LocalDateTime cutoff) {
+        return partitions.stream()
+                .filter(partition -> !partition.detachPending())
+                .filter(partition -> partition.upperBound() != null && !partition.upperBound().isAfter(cutoff))
+                .toList();
+    }
+
+    private void archive(String partition) {
+        if (archiveSchema != null && !archiveSchema.isBlank()) {
+            partitionRepository.moveToSchema(partition, archiveSchema);
+        }
+    }
+
+    // One failed step must not stop the others; the next run retries it
+    private void run(String step, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("Order partition maintenance failed: {}: {}", step, e.getMessage());
+        }
+    }
+}
@@ -1,18 +1,41 @@
 package com.example.disbursement.service;
 
 import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.OrderFilter;
+import com.example.disbursement.dto.OrderPage;
+import com.example.disbursement.dto.ProviderSnapshot;
 import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.dto.jsonapi.OrderDocument;
 import com.example.disbursement.entity.Order;
-import com.example.disbursement.entity.Provider;
+import com.example.disbursement.exception.PartnerUnavailableException;
 import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.DisbursementOutboxRepository;
 import com.example.disbursement.repository.OrderRepository;
+import com.example.disbursement.repository.OrderSpecifications;
+import com.example.disbursement.service.DisbursementMetrics.Operation;
+import com.example.disbursement.service.DisbursementMetrics.Phase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
@@ -22,31 +45,60 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final ProviderService providerService;
     private final PartnerApiService partnerApiService;
+    private final DisbursementOutboxRepository outboxRepository;
+    private final DisbursementMetrics metrics;
 
-    @Transactional
+    private final Map<DisbursementKey, CompletableFuture<JsonApiData<OrderDto>>> inFlightDisbursements =
+            new ConcurrentHashMap<>();
+
+    // Unset by default: a duplicate then waits as long as the original's partner call can take
+    @Value("${disbursement.idempotency.wait-timeout:#{null}}")
+    private Duration idempotencyWaitTimeout;
+
+    @Value("${disbursement.idempotency.poll-interval:PT0.2S}")
+    private Duration idempotencyPollInterval;
+
+    @Value("${disbursement.outbox.enabled:false}")
+    private boolean outboxEnabled;
+
+    @Value("${disbursement.orders.list.default-limit:50}")
+    private int defaultListLimit;
+
+    @Value("${disbursement.orders.list.max-limit:200}")
+    private int maxListLimit;
+
+    /**
+     * Runs without a surrounding transaction: the provider comes from the snapshot cache and the
+     * partner validation completes before {@code save} opens its own short transaction.
+     */
     public JsonApiData<OrderDto> createLoadOrder(OrderDto dto) {
-        log.debug("Creating load order for provider: {} account: {}",
-                dto.getProviderId(), dto.getAccountNumber());
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("Creating load order")
+                    .addKeyValue("providerId", dto.getProviderId())
+                    .addKeyValue("account", LogFields.maskAccount(dto.getAccountNumber()))
+                    .log();
+        }
 
         UUID providerId = UUID.fromString(dto.getProviderId());
-        Provider provider = providerService.getProviderById(providerId);
+        ProviderSnapshot provider = metrics.timePhase(Operation.CREATE, Phase.PROVIDER_LOOKUP,
+                () -> providerService.getProviderSnapshot(providerId));
 
         // Validate with partner API
-        partnerApiService.validateLoad(
-                provider.getValidateApiUrl(),
+        metrics.timePhase(Operation.CREATE, Phase.PARTNER_CALL, () -> partnerApiService.validateLoad(
+                provider,
                 dto.getAccountNumber(),
                 dto.getAmount()
-        );
+        ));
 
         // Calculate amounts
         BigDecimal baseAmount = dto.getAmount();
-        BigDecimal feeAmount = provider.getFeeAmount();
+        BigDecimal feeAmount = provider.feeAmount();
         BigDecimal totalAmount = baseAmount.add(feeAmount);
 
         // Create order
         Order order = Order.builder()
                 .providerId(providerId)
-                .providerName(provider.getName())
+                .providerName(provider.name())
                 .accountNumber(dto.getAccountNumber())
                 .baseAmount(baseAmount)
                 .feeAmount(feeAmount)
@@ -54,50 +106,312 @@ public class OrderService {
                 .status(Order.OrderStatus.NEW)
                 .build();
 
-        order = orderRepository.save(order);
-        log.info("Created order with ID: {}", order.getId());
+        Order saved = metrics.timePhase(Operation.CREATE, Phase.PERSIST, () -> orderRepository.save(order));
+        log.atInfo().setMessage("Created order")
+                .addKeyValue("orderId", saved.getId())
+                .addKeyValue("providerId", providerId)
+                .log();
 
-        return toJsonApiData(order);
+        return toJsonApiData(saved);
     }
 
-    @Transactional
+    /**
+     * Disburses an order in three phases so that no database connection is held while the
+     * partner API is called: a short transaction claims the order (NEW to PROCESSING), the
+     * partner call runs with no transaction open, and a second short transaction records the
+     * result. Orders left in PROCESSING by a crash are picked up by {@link DisbursementRecoveryService}.
+     * <p>
+     * Idempotent on {@code (orderId, paymentId)}; the order row, which records the payment ID
+     * when it is claimed, is the idempotency record. A duplicate of a request still running in
+     * this instance shares its result, a duplicate of one running elsewhere waits for the row to
+     * leave PROCESSING, and a duplicate of a completed request gets the stored order back.
+     */
     public JsonApiData<OrderDto> disburseOrder(UUID orderId, OrderDto dto) {
-        log.debug("Disbursing order: {} with payment: {}", orderId, dto.getPaymentId());
+        log.atDebug().setMessage("Disbursing order")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("paymentId", dto.getPaymentId())
+                .log();
+
+        UUID paymentId = UUID.fromString(dto.getPaymentId());
+        DisbursementKey key = new DisbursementKey(orderId, paymentId);
+        CompletableFuture<JsonApiData<OrderDto>> disbursement = new CompletableFuture<>();
+        CompletableFuture<JsonApiData<OrderDto>> inFlight = inFlightDisbursements.putIfAbsent(key, disbursement);
+        if (inFlight != null) {
+            log.atDebug().setMessage("Joining in-flight disbursement")
+                    .addKeyValue("orderId", orderId)
+                    .addKeyValue("paymentId", paymentId)
+                    .log();
+            return join(inFlight, orderId);
+        }
+
+        try {
+            JsonApiData<OrderDto> result = disburseOnce(orderId, paymentId);
+            disbursement.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            disbursement.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightDisbursements.remove(key, disbursement);
+        }
+    }
+
+    /**
+     * Accepts a disbursement without waiting for the partner: the claim and a
+     * {@code disbursement_outbox} entry are written in one statement and
+     * {@link DisbursementOutboxWorker} makes the partner call later. The returned order is
+     * PROCESSING until then. A retry with the claiming payment ID gets the order back as it is
+     * now. Falls back to {@link #disburseOrder} when the outbox is disabled.
+     */
+    public JsonApiData<OrderDto> enqueueDisbursement(UUID orderId, OrderDto dto) {
+        if (!outboxEnabled) {
+            return disburseOrder(orderId, dto);
+        }
+        log.atDebug().setMessage("Queueing disbursement")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("paymentId", dto.getPaymentId())
+                .log();
+
+        UUID paymentId = UUID.fromString(dto.getPaymentId());
+        Order order = getOrderEntityById(orderId);
+        if (order.getStatus() != Order.OrderStatus.NEW) {
+            requireClaimingPayment(order, paymentId);
+            return toJsonApiData(order);
+        }
+
+        // Fail fast on an unknown provider instead of leaving it to the worker
+        providerService.getProviderSnapshot(order.getProviderId());
+
+        LocalDateTime claimedAt = LocalDateTime.now();
+        if (outboxRepository.claimOrderAndEnqueue(orderId, order.getCreatedAt(), paymentId, claimedAt) == 0) {
+            order = getOrderEntityById(orderId);
+            requireClaimingPayment(order, paymentId);
+            return toJsonApiData(order);
+        }
+
+        order.setPaymentId(paymentId);
+        order.setStatus(Order.OrderStatus.PROCESSING);
+        order.setUpdatedAt(claimedAt);
+
+        log.atInfo().setMessage("Queued disbursement")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("paymentId", paymentId)
+                .log();
+        return toJsonApiData(order);
+    }
 
+    private JsonApiData<OrderDto> disburseOnce(UUID orderId, UUID paymentId) {
         Order order = getOrderEntityById(orderId);
 
-        // Validate order state
+        // Anything past NEW is either a retry of this payment or a conflict
         if (order.getStatus() != Order.OrderStatus.NEW) {
+            return replay(order, paymentId);
+        }
+
+        UUID providerId = order.getProviderId();
+        ProviderSnapshot provider = metrics.timePhase(Operation.DISBURSE, Phase.PROVIDER_LOOKUP,
+                () -> providerService.getProviderSnapshot(providerId));
+
+        // Claim the order; losing the race means another request is already disbursing it
+        LocalDateTime claimedAt = LocalDateTime.now();
+        LocalDateTime createdAt = order.getCreatedAt();
+        int claimed = metrics.timePhase(Operation.DISBURSE, Phase.CLAIM, () -> orderRepository.compareAndSetStatus(
+                orderId, createdAt, Order.OrderStatus.NEW, Order.OrderStatus.PROCESSING,
+                paymentId, claimedAt));
+        if (claimed == 0) {
+            return replay(getOrderEntityById(orderId), paymentId);
+        }
+
+        order.setPaymentId(paymentId);
+        order.setStatus(Order.OrderStatus.PROCESSING);
+        order.setUpdatedAt(claimedAt);
+
+        try {
+            return completeDisbursement(order, provider);
+        } catch (PartnerUnavailableException e) {
+            // Nothing was sent to the partner, so the order can safely go back to NEW for a retry
+            orderRepository.compareAndSetStatus(
+                    orderId, order.getCreatedAt(), Order.OrderStatus.PROCESSING, Order.OrderStatus.NEW,
+                    null, LocalDateTime.now());
+            throw e;
+        }
+    }
+
+    /**
+     * Answers a request for an order that is no longer NEW. Only a retry with the payment ID
+     * that claimed the order is answered with the order; it waits while another instance is
+     * still disbursing it.
+     */
+    private JsonApiData<OrderDto> replay(Order order, UUID paymentId) {
+        requireClaimingPayment(order, paymentId);
+
+        if (order.getStatus() == Order.OrderStatus.PROCESSING) {
+            long deadline = System.nanoTime() + waitTimeout(order).toNanos();
+            while (order.getStatus() == Order.OrderStatus.PROCESSING && System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(idempotencyPollInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                order = getOrderEntityById(order.getId());
+            }
+        }
+
+        log.atDebug().setMessage("Replaying disbursement")
+                .addKeyValue("orderId", order.getId())
+                .addKeyValue("paymentId", paymentId)
+                .addKeyValue("status", order.getStatus())
+                .log();
+        return toJsonApiData(order);
+    }
+
+    private static void requireClaimingPayment(Order order, UUID paymentId) {
+        if (!paymentId.equals(order.getPaymentId())) {
             throw new IllegalStateException(
                     "Order cannot be disbursed. Current status: " + order.getStatus());
         }
+    }
 
-        UUID paymentId = UUID.fromString(dto.getPaymentId());
-        Provider provider = providerService.getProviderById(order.getProviderId());
+    /**
+     * Waits for the result of the same request running in this instance. If it outlasts the
+     * wait, the order is answered as it stands, still PROCESSING, as {@link #replay} does.
+     */
+    private JsonApiData<OrderDto> join(CompletableFuture<JsonApiData<OrderDto>> inFlight, UUID orderId) {
+        try {
+            return inFlight.get(waitTimeout(getOrderEntityById(orderId)).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            Order order = getOrderEntityById(orderId);
+            log.atDebug().setMessage("Replaying disbursement still in flight")
+                    .addKeyValue("orderId", orderId)
+                    .addKeyValue("status", order.getStatus())
+                    .log();
+            return toJsonApiData(order);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for in-flight disbursement", e);
+        }
+    }
 
+    /**
+     * How long a duplicate waits for the original request: {@code wait-timeout} when set,
+     * otherwise as long as the original's partner call can take with the provider's retry and
+     * timeout settings.
+     */
+    private Duration waitTimeout(Order order) {
+        if (idempotencyWaitTimeout != null) {
+            return idempotencyWaitTimeout;
+        }
+        return partnerApiService.maxDisburseDuration(providerService.getProviderSnapshot(order.getProviderId()));
+    }
+
+    /**
+     * Calls the partner disbursement API for an order already claimed as PROCESSING and records
+     * the outcome. Must be called without an open transaction.
+     */
+    JsonApiData<OrderDto> completeDisbursement(Order order, ProviderSnapshot provider) {
         // Call partner disbursement API
-        boolean success = partnerApiService.disburseLoad(
-                provider.getDisbursementApiUrl(),
-                orderId,
-                paymentId,
+        boolean success = metrics.timePhase(Operation.DISBURSE, Phase.PARTNER_CALL, () -> partnerApiService.disburseLoad(
+                provider,
+                order.getId(),
+                order.getPaymentId(),
                 order.getAccountNumber(),
                 order.getBaseAmount()
-        );
+        ));
 
         // Update order
-        order.setPaymentId(paymentId);
-        order.setStatus(success ? Order.OrderStatus.SUCCESS : Order.OrderStatus.FAILED);
-        order = orderRepository.save(order);
+        Order.OrderStatus result = success ? Order.OrderStatus.SUCCESS : Order.OrderStatus.FAILED;
+        LocalDateTime completedAt = LocalDateTime.now();
+        int updated = metrics.timePhase(Operation.DISBURSE, Phase.PERSIST, () -> orderRepository.compareAndSetStatus(
+                order.getId(), order.getCreatedAt(), Order.OrderStatus.PROCESSING, result,
+                order.getPaymentId(), completedAt));
+        if (updated == 0) {
+            log.atWarn().setMessage("Order was no longer PROCESSING when recording the result")
+                    .addKeyValue("orderId", order.getId())
+                    .addKeyValue("status", result)
+                    .log();
+            return toJsonApiData(getOrderEntityById(order.getId()));
+        }
 
-        log.info("Order {} disbursement result: {}", orderId, order.getStatus());
+        order.setStatus(result);
+        order.setUpdatedAt(completedAt);
+
+        log.atInfo().setMessage("Disbursement completed")
+                .addKeyValue("orderId", order.getId())
+                .addKeyValue("providerId", order.getProviderId())
+                .addKeyValue("status", result)
+                .log();
         return toJsonApiData(order);
     }
 
+    /**
+     * Fetches an order for {@code GET /orders/{orderId}}, the endpoint clients poll for status.
+     * The response is written from the entity by {@link OrderDocument}, not mapped through
+     * {@link #toJsonApiData}.
+     */
     @Transactional(readOnly = true)
-    public JsonApiData<OrderDto> getOrderById(UUID orderId) {
-        log.debug("Fetching order: {}", orderId);
-        Order order = getOrderEntityById(orderId);
-        return toJsonApiData(order);
+    public OrderDocument getOrderById(UUID orderId) {
+        log.atDebug().setMessage("Fetching order")
+                .addKeyValue("orderId", orderId)
+                .log();
+        return new OrderDocument(getOrderEntityById(orderId));
+    }
+
+    /**
+     * Lists orders newest first, {@code limit} at a time. {@code cursor} is the
+     * {@link OrderPage#nextCursor()} of the previous page; it encodes the last order's
+     * {@code (createdAt, id)}, so later pages cost the same as the first however deep they go.
+     */
+    @Transactional(readOnly = true)
+    public OrderPage listOrders(OrderFilter filter, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : defaultListLimit;
+        if (pageSize < 1 || pageSize > maxListLimit) {
+            throw new ValidationException("limit must be between 1 and " + maxListLimit);
+        }
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("Listing orders")
+                    .addKeyValue("providerId", filter.providerId())
+                    .addKeyValue("status", filter.status())
+                    .addKeyValue("cursor", cursor)
+                    .addKeyValue("limit", pageSize)
+                    .log();
+        }
+
+        Specification<Order> spec = OrderSpecifications.matching(filter);
+        if (cursor != null) {
+            spec = spec.and(decodeCursor(cursor));
+        }
+        // One extra row tells whether there is a next page without a count query
+        List<Order> orders = orderRepository.findBy(spec, query -> query
+                .sortBy(OrderSpecifications.KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        List<Order> page = orders.size() > pageSize ? orders.subList(0, pageSize) : orders;
+        String nextCursor = orders.size() > pageSize ? encodeCursor(page.get(pageSize - 1)) : null;
+        return new OrderPage(page.stream().map(OrderService::toJsonApiData).toList(), nextCursor);
+    }
+
+    private static String encodeCursor(Order order) {
+        String position = order.getCreatedAt() + "," + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Specification<Order> decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(',');
+            return OrderSpecifications.before(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor");
+        }
     }
 
     private Order getOrderEntityById(UUID orderId) {
@@ -105,7 +419,7 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
     }
 
-    private JsonApiData<OrderDto> toJsonApiData(Order order) {
+    static JsonApiData<OrderDto> toJsonApiData(Order order) {
         OrderDto dto = OrderDto.builder()
                 .providerId(order.getProviderId().toString())
                 .providerName(order.getProviderName())
@@ -125,4 +439,7 @@ public class OrderService {
                 .attributes(dto)
                 .build();
     }
+
+    private record DisbursementKey(UUID orderId, UUID paymentId) {
+    }
 }
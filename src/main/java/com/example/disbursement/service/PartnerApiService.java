@@ -1,73 +1,188 @@
 package com.example.disbursement.service;
 
+import com.example.disbursement.config.PartnerCircuitBreakers;
+import com.example.disbursement.config.PartnerHttpProperties;
+import com.example.disbursement.config.PartnerWebClients;
+import com.example.disbursement.dto.PartnerDisburseResponse;
+import com.example.disbursement.dto.PartnerValidateResponse;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.exception.PartnerUnavailableException;
 import com.example.disbursement.exception.ValidationException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
-import java.util.Map;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PartnerApiService {
 
-    private final WebClient webClient;
-
-    public void validateLoad(String validateApiUrl, String accountNumber, BigDecimal amount) {
-        log.debug("Calling validate API: {} for account: {} with amount: {}",
-                validateApiUrl, accountNumber, amount);
-
-        try {
-            Map<String, Object> response = webClient.post()
-                    .uri(validateApiUrl)
-                    .bodyValue(Map.of(
-                            "accountNumber", accountNumber,
-                            "amount", amount
-                    ))
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (response == null || !Boolean.TRUE.equals(response.get("valid"))) {
-                String error = response != null ? (String) response.get("error") : "Validation failed";
-                throw new ValidationException(error != null ? error : "Validation failed");
-            }
-
-            log.debug("Validation successful for account: {}", accountNumber);
-        } catch (WebClientResponseException e) {
-            log.error("Validation API error: {}", e.getMessage());
-            throw new ValidationException("Partner validation service error: " + e.getMessage());
-        }
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final PartnerWebClients partnerWebClients;
+    private final PartnerConcurrencyLimiter concurrencyLimiter;
+    private final PartnerCircuitBreakers circuitBreakers;
+    private final PartnerRetryPolicy retryPolicy;
+    private final PartnerHedgingPolicy hedgingPolicy;
+    private final PartnerValidationCache validationCache;
+    private final DisbursementMetrics metrics;
+
+    public void validateLoad(ProviderSnapshot provider, String accountNumber, BigDecimal amount) {
+        validateLoadAsync(provider, accountNumber, amount).block();
     }
 
-    public boolean disburseLoad(String disbursementApiUrl, UUID orderId, UUID paymentId,
+    public boolean disburseLoad(ProviderSnapshot provider, UUID orderId, UUID paymentId,
                                 String accountNumber, BigDecimal amount) {
-        log.debug("Calling disbursement API: {} for order: {}", disbursementApiUrl, orderId);
-
-        try {
-            Map<String, Object> response = webClient.post()
-                    .uri(disbursementApiUrl)
-                    .bodyValue(Map.of(
-                            "orderId", orderId.toString(),
-                            "paymentId", paymentId.toString(),
-                            "accountNumber", accountNumber,
-                            "amount", amount
-                    ))
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            boolean success = response != null && Boolean.TRUE.equals(response.get("success"));
-            log.debug("Disbursement result for order {}: {}", orderId, success ? "SUCCESS" : "FAILED");
-            return success;
-        } catch (WebClientResponseException e) {
-            log.error("Disbursement API error: {}", e.getMessage());
-            return false;
+        return Boolean.TRUE.equals(
+                disburseLoadAsync(provider, orderId, paymentId, accountNumber, amount).block());
+    }
+
+    /**
+     * Non-blocking variant of {@link #validateLoad}. Completes empty when the partner accepts
+     * the load and errors with {@link ValidationException} otherwise, or with
+     * {@link PartnerUnavailableException} when the call is turned away by the provider's
+     * bulkhead or the endpoint's circuit breaker. Transient failures are retried, and a slow
+     * call may be hedged since validation has no side effects. A recent success may be answered
+     * from {@link PartnerValidationCache}.
+     */
+    public Mono<Void> validateLoadAsync(ProviderSnapshot provider, String accountNumber, BigDecimal amount) {
+        return validationCache.validate(provider, accountNumber, amount,
+                () -> callValidate(provider, accountNumber, amount));
+    }
+
+    private Mono<Void> callValidate(ProviderSnapshot provider, String accountNumber, BigDecimal amount) {
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("Calling validate API")
+                    .addKeyValue("providerId", provider.id())
+                    .addKeyValue("account", LogFields.maskAccount(accountNumber))
+                    .addKeyValue("amount", amount)
+                    .log();
         }
+
+        Mono<PartnerValidateResponse> call = guarded(provider, "validate", provider.validateApiUrl(),
+                partnerWebClients.forProvider(provider).post()
+                        .uri(provider.validateApiUrl())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(PartnerRequestBodies.validate(accountNumber, amount))
+                        .retrieve()
+                        .bodyToMono(PartnerValidateResponse.class));
+
+        Mono<Void> validation = retryPolicy.withRetries(provider.id(), "validate",
+                        hedgingPolicy.hedge(provider.id(), "validate", call))
+                .switchIfEmpty(Mono.error(() -> new ValidationException("Validation failed")))
+                .flatMap(response -> {
+                    if (!response.valid()) {
+                        String error = response.error();
+                        return Mono.<Void>error(new ValidationException(error != null ? error : "Validation failed"));
+                    }
+                    log.atDebug().setMessage("Validation successful")
+                            .addKeyValue("providerId", provider.id())
+                            .log();
+                    return Mono.<Void>empty();
+                })
+                .onErrorMap(WebClientResponseException.class, e -> {
+                    log.atError().setMessage("Validation API error")
+                            .addKeyValue("providerId", provider.id())
+                            .addKeyValue("status", e.getStatusCode().value())
+                            .log();
+                    return new ValidationException("Partner validation service error: " + e.getMessage());
+                });
+        return metrics.timePartnerCall(provider.id(), "validate", validation, response -> "success");
+    }
+
+    /**
+     * Non-blocking variant of {@link #disburseLoad}. Emits {@code true} only when the partner
+     * confirms the disbursement and {@code false} when it declines it or answers with a
+     * non-retryable HTTP error. Transient failures are retried, each attempt carrying the payment
+     * ID as {@code Idempotency-Key} so the partner disburses at most once; if they persist the
+     * error is passed on and the outcome is unknown. Errors with
+     * {@link PartnerUnavailableException} only when the first attempt is turned away by the
+     * provider's bulkhead or the endpoint's circuit breaker, before anything is sent. A retry
+     * turned away after an earlier attempt was sent ends with that attempt's error instead, since
+     * the partner may have acted on it.
+     */
+    public Mono<Boolean> disburseLoadAsync(ProviderSnapshot provider, UUID orderId, UUID paymentId,
+                                           String accountNumber, BigDecimal amount) {
+        log.atDebug().setMessage("Calling disbursement API")
+                .addKeyValue("providerId", provider.id())
+                .addKeyValue("orderId", orderId)
+                .log();
+
+        Mono<PartnerDisburseResponse> request = partnerWebClients.forProvider(provider).post()
+                .uri(provider.disbursementApiUrl())
+                .header(IDEMPOTENCY_KEY_HEADER, paymentId.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(PartnerRequestBodies.disburse(orderId, paymentId, accountNumber, amount))
+                .retrieve()
+                .bodyToMono(PartnerDisburseResponse.class);
+
+        Mono<Boolean> disbursement = Mono.defer(() -> {
+                    // The guard sits inside the retries, so a retry can be turned away after a request went out
+                    AtomicReference<Throwable> sentFailure = new AtomicReference<>();
+                    Mono<PartnerDisburseResponse> call = guarded(provider, "disburse", provider.disbursementApiUrl(),
+                            request.doOnError(sentFailure::set));
+                    return retryPolicy.withRetries(provider.id(), "disburse", call)
+                            .onErrorMap(PartnerUnavailableException.class, e -> {
+                                Throwable sent = sentFailure.get();
+                                if (sent == null) {
+                                    return e;
+                                }
+                                sent.addSuppressed(e);
+                                return sent;
+                            });
+                })
+                .map(PartnerDisburseResponse::success)
+                .defaultIfEmpty(false)
+                .doOnNext(success -> log.atDebug().setMessage("Disbursement API result")
+                        .addKeyValue("orderId", orderId)
+                        .addKeyValue("success", success)
+                        .log())
+                .onErrorResume(e -> e instanceof WebClientResponseException && !PartnerErrors.isRetryable(e), e -> {
+                    log.atError().setMessage("Disbursement API error")
+                            .addKeyValue("providerId", provider.id())
+                            .addKeyValue("orderId", orderId)
+                            .addKeyValue("status", ((WebClientResponseException) e).getStatusCode().value())
+                            .log();
+                    return Mono.just(false);
+                });
+        return metrics.timePartnerCall(provider.id(), "disburse", disbursement,
+                success -> success ? "success" : "declined");
+    }
+
+    /**
+     * The longest {@link #disburseLoad} can take for {@code provider}: every attempt running into
+     * the provider's connect and response timeouts, with the longest backoff between attempts.
+     */
+    public Duration maxDisburseDuration(ProviderSnapshot provider) {
+        PartnerHttpProperties.Settings settings = partnerWebClients.settingsFor(provider);
+        return retryPolicy.maxDuration(settings.getConnectTimeout().plus(settings.getResponseTimeout()));
+    }
+
+    /**
+     * Wraps a partner call in the circuit breaker of the provider's operation and, inside it, the
+     * provider's concurrency limit. An open breaker fails the call before it is sent.
+     */
+    private <T> Mono<T> guarded(ProviderSnapshot provider, String operation, String url, Mono<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakers.forEndpoint(provider, operation);
+        return concurrencyLimiter.limit(provider, call)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(CallNotPermittedException.class, e -> {
+                    log.atWarn().setMessage("Circuit breaker open for partner endpoint")
+                            .addKeyValue("providerId", provider.id())
+                            .addKeyValue("operation", operation)
+                            .log();
+                    return new PartnerUnavailableException("Partner endpoint is unavailable: " + url);
+                });
     }
 }
@@ -0,0 +1,162 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.PartnerHttpProperties;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkhead per provider for partner API calls. Each provider gets its own concurrency limit,
+ * adjusted AIMD style: it grows by one after a fast call made while the provider was busy and
+ * shrinks by {@code backoff-ratio} after a slow or overloaded call. Calls over the limit fail
+ * immediately with {@link PartnerUnavailableException} instead of waiting.
+ */
+@Component
+@Slf4j
+public class PartnerConcurrencyLimiter {
+
+    private final Map<UUID, AimdLimit> limits = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final PartnerHttpProperties httpProperties;
+
+    @Value("${disbursement.partner.limit.initial:20}")
+    private int initialLimit;
+
+    @Value("${disbursement.partner.limit.min:1}")
+    private int minLimit;
+
+    @Value("${disbursement.partner.limit.max:200}")
+    private int maxLimit;
+
+    @Value("${disbursement.partner.limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    // Unset by default: slow then means over latency-threshold-ratio of the provider's response timeout
+    @Value("${disbursement.partner.limit.latency-threshold:#{null}}")
+    private Duration latencyThreshold;
+
+    @Value("${disbursement.partner.limit.latency-threshold-ratio:0.5}")
+    private double latencyThresholdRatio;
+
+    public PartnerConcurrencyLimiter(MeterRegistry meterRegistry, PartnerHttpProperties httpProperties) {
+        this.meterRegistry = meterRegistry;
+        this.httpProperties = httpProperties;
+    }
+
+    /**
+     * Runs {@code call} within the provider's limit. The permit is taken on subscription and
+     * returned when the call completes, errors or is cancelled.
+     */
+    public <T> Mono<T> limit(ProviderSnapshot provider, Mono<T> call) {
+        return Mono.defer(() -> {
+            AimdLimit limit = limits.computeIfAbsent(provider.id(), id -> newLimit(provider));
+            if (!limit.tryAcquire()) {
+                limit.rejected.increment();
+                return Mono.error(new PartnerUnavailableException(
+                        "Provider " + provider.id() + " is at its concurrency limit of " + limit.getLimit()));
+            }
+            long start = System.nanoTime();
+            return call
+                    .doOnError(e -> limit.onCompletion(System.nanoTime() - start, PartnerErrors.isPartnerFailure(e)))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.ON_COMPLETE) {
+                            limit.onCompletion(System.nanoTime() - start, false);
+                        } else if (signal == SignalType.CANCEL) {
+                            limit.onCancel();
+                        }
+                    });
+        });
+    }
+
+    int getLimit(UUID providerId) {
+        AimdLimit limit = limits.get(providerId);
+        return limit != null ? limit.getLimit() : initialLimit;
+    }
+
+    private AimdLimit newLimit(ProviderSnapshot provider) {
+        UUID providerId = provider.id();
+        // Per-provider response-timeout overrides move the threshold with them
+        long latencyThresholdNanos = latencyThreshold != null
+                ? latencyThreshold.toNanos()
+                : (long) (httpProperties.forProvider(providerId, provider.name()).getResponseTimeout().toNanos()
+                        * latencyThresholdRatio);
+        AimdLimit limit = new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyThresholdNanos,
+                Counter.builder("partner.concurrency.rejected")
+                        .tag("provider", providerId.toString())
+                        .register(meterRegistry));
+        Gauge.builder("partner.concurrency.limit", limit, AimdLimit::getLimit)
+                .tag("provider", providerId.toString())
+                .register(meterRegistry);
+        Gauge.builder("partner.concurrency.in_flight", limit, AimdLimit::getInFlight)
+                .tag("provider", providerId.toString())
+                .register(meterRegistry);
+        return limit;
+    }
+
+    static final class AimdLimit {
+
+        private final int min;
+        private final int max;
+        private final double backoffRatio;
+        private final long latencyThresholdNanos;
+        private final Counter rejected;
+        private final AtomicInteger limit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        AimdLimit(int initial, int min, int max, double backoffRatio, long latencyThresholdNanos, Counter rejected) {
+            this.min = min;
+            this.max = max;
+            this.backoffRatio = backoffRatio;
+            this.latencyThresholdNanos = latencyThresholdNanos;
+            this.rejected = rejected;
+            this.limit = new AtomicInteger(initial);
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit.get()) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void onCompletion(long latencyNanos, boolean overloaded) {
+            int busy = inFlight.getAndDecrement();
+            if (overloaded || latencyNanos > latencyThresholdNanos) {
+                limit.updateAndGet(current -> Math.max(min, (int) (current * backoffRatio)));
+            } else if (busy * 2 >= limit.get()) {
+                // Only grow while the limit is actually being used
+                limit.updateAndGet(current -> Math.min(max, current + 1));
+            }
+        }
+
+        void onCancel() {
+            inFlight.decrementAndGet();
+        }
+
+        int getLimit() {
+            return limit.get();
+        }
+
+        int getInFlight() {
+            return inFlight.get();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.exception.PartnerUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Classifies errors from partner API calls for the resilience layers around them.
+ */
+public final class PartnerErrors {
+
+    private PartnerErrors() {
+    }
+
+    /**
+     * Whether the error says the partner is unhealthy: server errors, 429, timeouts and I/O
+     * failures. Client errors are the partner's answer and our own fast rejections never
+     * reached it, so neither counts.
+     */
+    public static boolean isPartnerFailure(Throwable e) {
+        if (e instanceof PartnerUnavailableException) {
+            return false;
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return true;
+    }
+
+    /**
+     * Whether a failed call may be sent again: 429, 502, 503 and 504 responses, timeouts and
+     * connection failures. Other responses are the partner's final answer, and our own fast
+     * rejections are left to the caller.
+     */
+    public static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || status == HttpStatus.BAD_GATEWAY.value()
+                    || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+        return e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || e instanceof IOException;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.disbursement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedges side-effect-free partner calls: when a call has not answered within the provider's
+ * recent {@code percentile} latency, a second identical request is sent and whichever answers
+ * first wins. Hedges are paid for from a {@link RequestBudget} per provider, which caps them at
+ * {@code max-rate} of all calls. Must never be used for calls with side effects.
+ */
+@Component
+@Slf4j
+public class PartnerHedgingPolicy {
+
+    public static final String LATENCY_TIMER = "partner.latency";
+
+    private final Map<UUID, RequestBudget> budgets = new ConcurrentHashMap<>();
+    private final Map<PartnerMeter, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final Map<PartnerMeter, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${disbursement.partner.hedge.enabled:false}")
+    private boolean enabled;
+
+    @Value("${disbursement.partner.hedge.percentile:0.95}")
+    private double percentile;
+
+    @Value("${disbursement.partner.hedge.min-samples:20}")
+    private long minSamples;
+
+    @Value("${disbursement.partner.hedge.min-delay:PT0.05S}")
+    private Duration minDelay;
+
+    @Value("${disbursement.partner.hedge.max-delay:PT1S}")
+    private Duration maxDelay;
+
+    @Value("${disbursement.partner.hedge.max-rate:0.05}")
+    private double maxRate;
+
+    @Value("${disbursement.partner.hedge.max-burst:5}")
+    private double maxBurst;
+
+    public PartnerHedgingPolicy(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code call}, which must be cold and safe to send twice, hedged when hedging is
+     * enabled. An error from the first request is passed on at once; an error from the hedge
+     * is ignored in favour of the first request.
+     */
+    public <T> Mono<T> hedge(UUID providerId, String operation, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            RequestBudget budget = budgets.computeIfAbsent(providerId, id -> new RequestBudget(maxRate, 0, maxBurst));
+            budget.recordRequest();
+            Timer latency = latencyTimer(providerId, operation);
+
+            Mono<T> hedge = Mono.delay(hedgeDelay(latency))
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquire()) {
+                            return Mono.<T>never();
+                        }
+                        log.debug("Hedging {} call to provider {}", operation, providerId);
+                        counter("partner.hedge.issued", providerId, operation).increment();
+                        return timed(call, latency)
+                                .doOnNext(value -> counter("partner.hedge.won", providerId, operation).increment());
+                    })
+                    .onErrorResume(e -> Mono.never());
+
+            return Mono.firstWithSignal(timed(call, latency), hedge);
+        });
+    }
+
+    /**
+     * The recent {@code percentile} latency within {@code [min-delay, max-delay]}, or
+     * {@code max-delay} until enough calls have been timed.
+     */
+    Duration hedgeDelay(Timer latency) {
+        if (latency.count() < minSamples) {
+            return maxDelay;
+        }
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                Duration delay = Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+                return delay.compareTo(minDelay) < 0 ? minDelay : delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+            }
+        }
+        return maxDelay;
+    }
+
+    Timer latencyTimer(UUID providerId, String operation) {
+        return latencyTimers.computeIfAbsent(new PartnerMeter(LATENCY_TIMER, providerId, operation), key ->
+                Timer.builder(key.name())
+                        .tag("provider", key.providerId().toString())
+                        .tag("operation", key.operation())
+                        .publishPercentiles(percentile)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Times every request, including a loser cancelled mid-flight, whose elapsed time is a lower
+     * bound that keeps slow requests in the percentile.
+     */
+    private static <T> Mono<T> timed(Mono<T> call, Timer latency) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signal -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Counter counter(String name, UUID providerId, String operation) {
+        return counters.computeIfAbsent(new PartnerMeter(name, providerId, operation), key ->
+                Counter.builder(key.name())
+                        .tag("provider", key.providerId().toString())
+                        .tag("operation", key.operation())
+                        .register(meterRegistry));
+    }
+
+    private record PartnerMeter(String name, UUID providerId, String operation) {
+    }
+}
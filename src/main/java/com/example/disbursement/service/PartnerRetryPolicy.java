@@ -0,0 +1,127 @@
+package com.example.disbursement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retries partner calls that failed transiently (see {@link PartnerErrors#isRetryable}) with
+ * bounded exponential backoff and jitter. Retries are paid for from a {@link RequestBudget}
+ * per provider; once it is spent the error is returned as is. Records the number of attempts
+ * each call took in {@code partner.attempts}.
+ */
+@Component
+@Slf4j
+public class PartnerRetryPolicy {
+
+    private final Map<UUID, RequestBudget> budgets = new ConcurrentHashMap<>();
+    private final Map<PartnerMeter, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<PartnerMeter, DistributionSummary> attemptSummaries = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${disbursement.partner.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${disbursement.partner.retry.min-backoff:PT0.2S}")
+    private Duration minBackoff;
+
+    @Value("${disbursement.partner.retry.max-backoff:PT2S}")
+    private Duration maxBackoff;
+
+    @Value("${disbursement.partner.retry.jitter:0.5}")
+    private double jitter;
+
+    @Value("${disbursement.partner.retry.budget.ratio:0.1}")
+    private double budgetRatio;
+
+    @Value("${disbursement.partner.retry.budget.min-per-second:1.0}")
+    private double budgetMinPerSecond;
+
+    @Value("${disbursement.partner.retry.budget.max-balance:10}")
+    private double budgetMaxBalance;
+
+    public PartnerRetryPolicy(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Subscribes to {@code call} again after each retryable failure. {@code call} must be cold,
+     * issuing a new request per subscription; {@code operation} names it in logs and metrics.
+     */
+    public <T> Mono<T> withRetries(UUID providerId, String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            RequestBudget budget = budgets.computeIfAbsent(providerId, id -> newBudget());
+            budget.recordRequest();
+            AtomicInteger attempts = new AtomicInteger();
+
+            return Mono.defer(() -> {
+                        attempts.incrementAndGet();
+                        return call;
+                    })
+                    .retryWhen(Retry.backoff(maxAttempts - 1, minBackoff)
+                            .maxBackoff(maxBackoff)
+                            .jitter(jitter)
+                            .filter(e -> PartnerErrors.isRetryable(e) && withdraw(budget, providerId, operation))
+                            .doBeforeRetry(signal -> {
+                                log.warn("Retrying {} call to provider {} after attempt {}: {}", operation, providerId,
+                                        signal.totalRetries() + 1, signal.failure().toString());
+                                counter("partner.retries", providerId, operation).increment();
+                            })
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnTerminate(() -> recordAttempts(providerId, operation, attempts.get()))
+                    .doOnCancel(() -> recordAttempts(providerId, operation, attempts.get()));
+        });
+    }
+
+    /**
+     * The longest {@link #withRetries} can keep a call going when each attempt is bounded by
+     * {@code attemptTimeout}: every attempt timing out, with the longest backoff between them.
+     */
+    public Duration maxDuration(Duration attemptTimeout) {
+        return attemptTimeout.multipliedBy(maxAttempts).plus(maxBackoff.multipliedBy(maxAttempts - 1));
+    }
+
+    private void recordAttempts(UUID providerId, String operation, int attempts) {
+        attemptSummaries.computeIfAbsent(new PartnerMeter("partner.attempts", providerId, operation), key ->
+                        DistributionSummary.builder(key.name())
+                                .tag("provider", key.providerId().toString())
+                                .tag("operation", key.operation())
+                                .register(meterRegistry))
+                .record(attempts);
+    }
+
+    private boolean withdraw(RequestBudget budget, UUID providerId, String operation) {
+        if (budget.tryAcquire()) {
+            return true;
+        }
+        log.warn("Retry budget for provider {} is spent, not retrying {}", providerId, operation);
+        counter("partner.retry.budget_exhausted", providerId, operation).increment();
+        return false;
+    }
+
+    private Counter counter(String name, UUID providerId, String operation) {
+        return counters.computeIfAbsent(new PartnerMeter(name, providerId, operation), key ->
+                Counter.builder(key.name())
+                        .tag("provider", key.providerId().toString())
+                        .tag("operation", key.operation())
+                        .register(meterRegistry));
+    }
+
+    private RequestBudget newBudget() {
+        return new RequestBudget(budgetRatio, budgetMinPerSecond, budgetMaxBalance);
+    }
+
+    private record PartnerMeter(String name, UUID providerId, String operation) {
+    }
+}
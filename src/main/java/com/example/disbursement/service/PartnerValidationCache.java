@@ -0,0 +1,63 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.CacheConfig;
+import com.example.disbursement.dto.ProviderSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers successful partner validations of {@code (validateApiUrl, accountNumber, amount)}
+ * for a few seconds, for the providers listed in
+ * {@code disbursement.partner.validation-cache.providers} (IDs or names). Rejections and errors
+ * are never cached, and concurrent lookups of the same key share one partner call.
+ */
+@Component
+public class PartnerValidationCache {
+
+    private final CacheManager cacheManager;
+    private final Set<String> providers;
+
+    public PartnerValidationCache(CacheManager cacheManager,
+                                  @Value("${disbursement.partner.validation-cache.providers:}") Set<String> providers) {
+        this.cacheManager = cacheManager;
+        this.providers = providers.stream()
+                .map(String::trim)
+                .filter(provider -> !provider.isEmpty())
+                .map(String::toLowerCase)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Runs {@code validation} unless the same validation recently succeeded for a provider that
+     * opted in; providers that did not opt in always run it.
+     */
+    public Mono<Void> validate(ProviderSnapshot provider, String accountNumber, BigDecimal amount,
+                               Supplier<Mono<Void>> validation) {
+        if (!isEnabledFor(provider)) {
+            return validation.get();
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.VALIDATION_CACHE);
+        ValidationKey key = new ValidationKey(provider.validateApiUrl(), accountNumber, amount.stripTrailingZeros());
+
+        // Cancel suppressed: one caller going away must not cancel the call others are sharing
+        return Mono.fromFuture(() -> cache.retrieve(key, () -> validation.get().thenReturn(Boolean.TRUE).toFuture()), true)
+                .then();
+    }
+
+    boolean isEnabledFor(ProviderSnapshot provider) {
+        return !providers.isEmpty()
+                && (providers.contains(provider.id().toString())
+                || (provider.name() != null && providers.contains(provider.name().toLowerCase())));
+    }
+
+    private record ValidationKey(String validateApiUrl, String accountNumber, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.disbursement.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps the local provider snapshot cache coherent across replicas. The
+ * {@code providers_notify_change} trigger publishes the ID of every inserted, updated or deleted
+ * provider on the {@code provider_changed} channel; this listener evicts that snapshot so the
+ * next read reloads it. The LISTEN session uses a dedicated connection outside the Hikari pool.
+ */
+@Component
+@ConditionalOnProperty(prefix = "disbursement.providers.cache.listen-notify", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderChangeListener {
+
+    static final String CHANNEL = "provider_changed";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ProviderService providerService;
+
+    @Value("${disbursement.providers.cache.listen-notify.poll-timeout:PT1S}")
+    private Duration pollTimeout;
+
+    @Value("${disbursement.providers.cache.listen-notify.reconnect-delay:PT5S}")
+    private Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "provider-change-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listenerThread.interrupt();
+        listenerThread.join(pollTimeout.multipliedBy(2).toMillis());
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Changes made while we were not listening were missed, so start from a clean cache
+                providerService.evictAllProviderSnapshots();
+                log.info("Listening for provider changes on channel {}", CHANNEL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onProviderChanged(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Provider change listener disconnected, reconnecting in {}: {}",
+                        reconnectDelay, e.getMessage());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    void onProviderChanged(String payload) {
+        try {
+            providerService.evictProviderSnapshot(UUID.fromString(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring provider change with unexpected payload '{}', evicting all", payload);
+            providerService.evictAllProviderSnapshots();
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.disbursement.service;
 
+import com.example.disbursement.config.CacheConfig;
 import com.example.disbursement.dto.ProviderDto;
+import com.example.disbursement.dto.ProviderSnapshot;
 import com.example.disbursement.dto.jsonapi.JsonApiData;
 import com.example.disbursement.entity.Provider;
 import com.example.disbursement.exception.ResourceNotFoundException;
 import com.example.disbursement.repository.ProviderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,7 @@ public class ProviderService {
     private final ProviderRepository providerRepository;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROVIDERS_CACHE, allEntries = true)
     public JsonApiData<ProviderDto> createProvider(ProviderDto dto) {
         log.debug("Creating provider: {}", dto.getName());
 
@@ -42,7 +47,7 @@ public class ProviderService {
     public List<JsonApiData<ProviderDto>> getAllProviders() {
         log.debug("Fetching all providers");
         return providerRepository.findAll().stream()
-                .map(this::toJsonApiData)
+                .map(ProviderService::toJsonApiData)
                 .collect(Collectors.toList());
     }
 
@@ -52,7 +57,31 @@ public class ProviderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Provider not found with ID: " + id));
     }
 
-    private JsonApiData<ProviderDto> toJsonApiData(Provider provider) {
+    /**
+     * Cached, immutable view of a provider for the order hot path. Deliberately not
+     * {@code @Transactional}, so a cache hit never touches the connection pool.
+     */
+    @Cacheable(cacheNames = CacheConfig.PROVIDERS_CACHE, sync = true)
+    public ProviderSnapshot getProviderSnapshot(UUID id) {
+        return providerRepository.findById(id)
+                .map(ProviderSnapshot::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found with ID: " + id));
+    }
+
+    /**
+     * Drops a provider from the snapshot cache. Any code path that changes a provider row must call this.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PROVIDERS_CACHE)
+    public void evictProviderSnapshot(UUID id) {
+        log.debug("Evicted provider snapshot: {}", id);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROVIDERS_CACHE, allEntries = true)
+    public void evictAllProviderSnapshots() {
+        log.debug("Evicted all provider snapshots");
+    }
+
+    static JsonApiData<ProviderDto> toJsonApiData(Provider provider) {
         ProviderDto dto = ProviderDto.builder()
                 .name(provider.getName())
                 .feeAmount(provider.getFeeAmount())
@@ -0,0 +1,275 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.dto.jsonapi.OrderDocument;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.entity.Provider;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.repository.ReactiveOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking counterpart of {@link OrderService} for the {@code reactive} profile. It follows
+ * the same claim, partner call and result phases, but never parks a thread while waiting on the
+ * database or the partner API.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveProviderService providerService;
+    private final PartnerApiService partnerApiService;
+    private final Map<DisbursementKey, Sinks.One<JsonApiData<OrderDto>>> inFlightDisbursements =
+            new ConcurrentHashMap<>();
+
+    // Unset by default: a duplicate then waits as long as the original's partner call can take
+    @Value("${disbursement.idempotency.wait-timeout:#{null}}")
+    private Duration idempotencyWaitTimeout;
+
+    @Value("${disbursement.idempotency.poll-interval:PT0.2S}")
+    private Duration idempotencyPollInterval;
+
+    public Mono<JsonApiData<OrderDto>> createLoadOrder(OrderDto dto) {
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("Creating load order")
+                    .addKeyValue("providerId", dto.getProviderId())
+                    .addKeyValue("account", LogFields.maskAccount(dto.getAccountNumber()))
+                    .log();
+        }
+
+        return Mono.fromCallable(() -> UUID.fromString(dto.getProviderId()))
+                .flatMap(providerService::getProviderById)
+                .flatMap(provider -> partnerApiService.validateLoadAsync(
+                                ProviderSnapshot.from(provider),
+                                dto.getAccountNumber(),
+                                dto.getAmount())
+                        .then(Mono.defer(() -> orderRepository.insert(newOrder(provider, dto)))))
+                .doOnNext(order -> log.atInfo().setMessage("Created order")
+                        .addKeyValue("orderId", order.getId())
+                        .addKeyValue("providerId", order.getProviderId())
+                        .log())
+                .map(OrderService::toJsonApiData);
+    }
+
+    /**
+     * Disburses an order with the same claim, partner call and result phases and the same
+     * idempotency on {@code (orderId, paymentId)} as {@link OrderService#disburseOrder}: a
+     * duplicate of a request still running in this instance shares its result, a duplicate of
+     * one running elsewhere polls until the row leaves PROCESSING, and a duplicate of a completed
+     * request gets the stored order back.
+     */
+    public Mono<JsonApiData<OrderDto>> disburseOrder(UUID orderId, OrderDto dto) {
+        log.atDebug().setMessage("Disbursing order")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("paymentId", dto.getPaymentId())
+                .log();
+
+        return Mono.defer(() -> {
+            UUID paymentId = UUID.fromString(dto.getPaymentId());
+            DisbursementKey key = new DisbursementKey(orderId, paymentId);
+            Sinks.One<JsonApiData<OrderDto>> disbursement = Sinks.one();
+            Sinks.One<JsonApiData<OrderDto>> inFlight = inFlightDisbursements.putIfAbsent(key, disbursement);
+            if (inFlight != null) {
+                log.atDebug().setMessage("Joining in-flight disbursement")
+                        .addKeyValue("orderId", orderId)
+                        .addKeyValue("paymentId", paymentId)
+                        .log();
+                return join(inFlight, orderId, paymentId);
+            }
+
+            return disburseOnce(orderId, paymentId)
+                    .doOnNext(disbursement::tryEmitValue)
+                    .doOnError(disbursement::tryEmitError)
+                    .doFinally(signal -> {
+                        inFlightDisbursements.remove(key, disbursement);
+                        // Cancelled: joined duplicates fall back to the stored order
+                        disbursement.tryEmitEmpty();
+                    });
+        });
+    }
+
+    public Mono<OrderDocument> getOrderById(UUID orderId) {
+        log.atDebug().setMessage("Fetching order")
+                .addKeyValue("orderId", orderId)
+                .log();
+        return getOrderEntityById(orderId).map(OrderDocument::new);
+    }
+
+    private Mono<JsonApiData<OrderDto>> disburseOnce(UUID orderId, UUID paymentId) {
+        return getOrderEntityById(orderId)
+                .flatMap(order -> {
+                    // Anything past NEW is either a retry of this payment or a conflict
+                    if (order.getStatus() != Order.OrderStatus.NEW) {
+                        return replay(order, paymentId);
+                    }
+                    return providerService.getProviderById(order.getProviderId())
+                            .flatMap(provider -> claim(order, paymentId)
+                                    .flatMap(claimed -> {
+                                        // Losing the race means another request is already disbursing it
+                                        if (!claimed) {
+                                            return getOrderEntityById(orderId)
+                                                    .flatMap(current -> replay(current, paymentId));
+                                        }
+                                        return completeDisbursement(order, provider)
+                                                .onErrorResume(PartnerUnavailableException.class, e -> release(order)
+                                                        .then(Mono.error(e)));
+                                    }));
+                });
+    }
+
+    /**
+     * Answers a request for an order that is no longer NEW. Only a retry with the payment ID
+     * that claimed the order is answered with the order; it waits while another instance is
+     * still disbursing it.
+     */
+    private Mono<JsonApiData<OrderDto>> replay(Order order, UUID paymentId) {
+        if (!paymentId.equals(order.getPaymentId())) {
+            return Mono.error(new IllegalStateException(
+                    "Order cannot be disbursed. Current status: " + order.getStatus()));
+        }
+
+        Mono<Order> settled = order.getStatus() != Order.OrderStatus.PROCESSING
+                ? Mono.just(order)
+                : waitTimeout(order).flatMap(timeout -> Mono.defer(() -> getOrderEntityById(order.getId()))
+                        .delaySubscription(idempotencyPollInterval)
+                        .filter(current -> current.getStatus() != Order.OrderStatus.PROCESSING)
+                        .repeatWhenEmpty(repeats -> repeats)
+                        .timeout(timeout, Mono.defer(() -> getOrderEntityById(order.getId()))));
+        return settled
+                .doOnNext(current -> log.atDebug().setMessage("Replaying disbursement")
+                        .addKeyValue("orderId", current.getId())
+                        .addKeyValue("paymentId", paymentId)
+                        .addKeyValue("status", current.getStatus())
+                        .log())
+                .map(OrderService::toJsonApiData);
+    }
+
+    /**
+     * Waits for the result of the same request running in this instance. If it outlasts the
+     * wait, the order is answered as it stands, still PROCESSING, as {@link #replay} does.
+     */
+    private Mono<JsonApiData<OrderDto>> join(Sinks.One<JsonApiData<OrderDto>> inFlight, UUID orderId, UUID paymentId) {
+        return getOrderEntityById(orderId)
+                .flatMap(this::waitTimeout)
+                .flatMap(timeout -> inFlight.asMono()
+                        .timeout(timeout, Mono.defer(() -> getOrderEntityById(orderId)
+                                .map(OrderService::toJsonApiData))))
+                .switchIfEmpty(Mono.defer(() -> getOrderEntityById(orderId)
+                        .flatMap(order -> replay(order, paymentId))));
+    }
+
+    /**
+     * How long a duplicate waits for the original request: {@code wait-timeout} when set,
+     * otherwise as long as the original's partner call can take with the provider's retry and
+     * timeout settings.
+     */
+    private Mono<Duration> waitTimeout(Order order) {
+        if (idempotencyWaitTimeout != null) {
+            return Mono.just(idempotencyWaitTimeout);
+        }
+        return providerService.getProviderById(order.getProviderId())
+                .map(provider -> partnerApiService.maxDisburseDuration(ProviderSnapshot.from(provider)));
+    }
+
+    /** Claims the order (NEW to PROCESSING); {@code false} when another request got there first. */
+    private Mono<Boolean> claim(Order order, UUID paymentId) {
+        LocalDateTime claimedAt = LocalDateTime.now();
+        return orderRepository.compareAndSetStatus(
+                        order.getId(), order.getCreatedAt(), Order.OrderStatus.NEW, Order.OrderStatus.PROCESSING,
+                        paymentId, claimedAt)
+                .map(claimed -> {
+                    if (claimed == 0) {
+                        return false;
+                    }
+                    order.setPaymentId(paymentId);
+                    order.setStatus(Order.OrderStatus.PROCESSING);
+                    order.setUpdatedAt(claimedAt);
+                    return true;
+                });
+    }
+
+    // Nothing was sent to the partner, so the order can safely go back to NEW for a retry
+    private Mono<Long> release(Order order) {
+        return orderRepository.compareAndSetStatus(
+                order.getId(), order.getCreatedAt(), Order.OrderStatus.PROCESSING, Order.OrderStatus.NEW, null,
+                LocalDateTime.now());
+    }
+
+    private Mono<JsonApiData<OrderDto>> completeDisbursement(Order order, Provider provider) {
+        return partnerApiService.disburseLoadAsync(
+                        ProviderSnapshot.from(provider),
+                        order.getId(),
+                        order.getPaymentId(),
+                        order.getAccountNumber(),
+                        order.getBaseAmount())
+                .flatMap(success -> {
+                    Order.OrderStatus result = success ? Order.OrderStatus.SUCCESS : Order.OrderStatus.FAILED;
+                    LocalDateTime completedAt = LocalDateTime.now();
+                    return orderRepository.compareAndSetStatus(
+                                    order.getId(), order.getCreatedAt(), Order.OrderStatus.PROCESSING, result,
+                                    order.getPaymentId(), completedAt)
+                            .flatMap(updated -> {
+                                if (updated == 0) {
+                                    log.atWarn().setMessage("Order was no longer PROCESSING when recording the result")
+                                            .addKeyValue("orderId", order.getId())
+                                            .addKeyValue("status", result)
+                                            .log();
+                                    return getOrderEntityById(order.getId());
+                                }
+                                order.setStatus(result);
+                                order.setUpdatedAt(completedAt);
+                                log.atInfo().setMessage("Disbursement completed")
+                                        .addKeyValue("orderId", order.getId())
+                                        .addKeyValue("providerId", order.getProviderId())
+                                        .addKeyValue("status", result)
+                                        .log();
+                                return Mono.just(order);
+                            });
+                })
+                .map(OrderService::toJsonApiData);
+    }
+
+    private Mono<Order> getOrderEntityById(UUID orderId) {
+        return orderRepository.findById(orderId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Order not found with ID: " + orderId)));
+    }
+
+    private static Order newOrder(Provider provider, OrderDto dto) {
+        // Calculate amounts
+        BigDecimal baseAmount = dto.getAmount();
+        BigDecimal feeAmount = provider.getFeeAmount();
+        BigDecimal totalAmount = baseAmount.add(feeAmount);
+
+        return Order.builder()
+                .providerId(provider.getId())
+                .providerName(provider.getName())
+                .accountNumber(dto.getAccountNumber())
+                .baseAmount(baseAmount)
+                .feeAmount(feeAmount)
+                .totalAmount(totalAmount)
+                .status(Order.OrderStatus.NEW)
+                .build();
+    }
+
+    private record DisbursementKey(UUID orderId, UUID paymentId) {
+    }
+}
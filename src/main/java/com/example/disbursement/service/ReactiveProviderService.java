@@ -0,0 +1,54 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.ProviderDto;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.entity.Provider;
+import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.repository.ReactiveProviderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link ProviderService} for the {@code reactive} profile.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProviderService {
+
+    private final ReactiveProviderRepository providerRepository;
+
+    public Mono<JsonApiData<ProviderDto>> createProvider(ProviderDto dto) {
+        log.debug("Creating provider: {}", dto.getName());
+
+        Provider provider = Provider.builder()
+                .name(dto.getName())
+                .feeAmount(dto.getFeeAmount())
+                .validateApiUrl(dto.getValidateApiUrl())
+                .disbursementApiUrl(dto.getDisbursementApiUrl())
+                .build();
+
+        return providerRepository.insert(provider)
+                .doOnNext(saved -> log.info("Created provider with ID: {}", saved.getId()))
+                .map(ProviderService::toJsonApiData);
+    }
+
+    public Mono<List<JsonApiData<ProviderDto>>> getAllProviders() {
+        log.debug("Fetching all providers");
+        return providerRepository.findAll()
+                .map(ProviderService::toJsonApiData)
+                .collectList();
+    }
+
+    public Mono<Provider> getProviderById(UUID id) {
+        return providerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Provider not found with ID: " + id)));
+    }
+}
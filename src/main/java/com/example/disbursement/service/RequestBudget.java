@@ -0,0 +1,56 @@
+package com.example.disbursement.service;
+
+/**
+ * Token bucket that caps extra requests to a partner, such as retries, at a fraction of the
+ * regular requests it receives. Every regular request deposits {@code ratio} tokens, an extra
+ * request withdraws one, and a trickle of {@code minPerSecond} tokens keeps a quiet provider
+ * retryable. The balance is capped at {@code maxBalance}, so an outage drains the budget
+ * instead of multiplying the load by the retry count.
+ */
+public class RequestBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxBalance;
+
+    private double balance;
+    private long lastRefillNanos;
+
+    public RequestBudget(double ratio, double minPerSecond, double maxBalance) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxBalance = maxBalance;
+        this.balance = maxBalance;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public synchronized void recordRequest() {
+        refill();
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * Takes one token for an extra request. Returns {@code false}, taking nothing, when the
+     * budget is spent.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    synchronized double getBalance() {
+        refill();
+        return balance;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1e9;
+        lastRefillNanos = now;
+        balance = Math.min(maxBalance, balance + elapsedSeconds * minPerSecond);
+    }
+}
@@ -0,0 +1,16 @@
+-- Publish every change to providers on the provider_changed channel, so that each replica can
+-- drop its cached snapshot. Notifications are only delivered when the transaction commits.
+CREATE OR REPLACE FUNCTION notify_provider_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('provider_changed', OLD.id::text);
+    ELSE
+        PERFORM pg_notify('provider_changed', NEW.id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER providers_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON providers
+    FOR EACH ROW EXECUTE FUNCTION notify_provider_change();
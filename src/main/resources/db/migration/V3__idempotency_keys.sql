@@ -0,0 +1,13 @@
+-- Idempotency-Key records for POST /orders/load. A row without a response is a request still
+-- in progress; the fingerprint is the SHA-256 of the request so reuse with a different body
+-- can be rejected.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_fingerprint BYTEA NOT NULL,
+    status_code INTEGER,
+    response_body BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
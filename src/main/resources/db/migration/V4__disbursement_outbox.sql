@@ -0,0 +1,14 @@
+-- Disbursement intents recorded in the same transaction that claims the order. Workers lease
+-- rows with FOR UPDATE SKIP LOCKED and delete them once the result is recorded. There is no
+-- foreign key to orders so that inserts and deletes stay off the orders row locks.
+CREATE TABLE disbursement_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    order_id UUID NOT NULL UNIQUE,
+    payment_id UUID NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_disbursement_outbox_available_at ON disbursement_outbox(available_at);
@@ -0,0 +1,21 @@
+-- Indexes for GET /orders. Each filter column leads an index followed by the (created_at, id)
+-- keyset, so every filter combination is an index range scan in keyset order:
+--   no filter / time range only     -> idx_orders_created_at_id
+--   provider (+ status)             -> idx_orders_provider_status_created_at_id, idx_orders_provider_created_at_id
+--   status                          -> idx_orders_status_created_at_id
+--   account number (+ anything)     -> idx_orders_account_created_at_id
+-- Built CONCURRENTLY so the orders table stays writable; see the .conf next to this file.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at_id
+    ON orders (created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_provider_created_at_id
+    ON orders (provider_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_provider_status_created_at_id
+    ON orders (provider_id, status, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created_at_id
+    ON orders (status, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_account_created_at_id
+    ON orders (account_number, created_at, id);
+
+-- Prefixes of the indexes above
+DROP INDEX CONCURRENTLY IF EXISTS idx_orders_provider_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_orders_status;
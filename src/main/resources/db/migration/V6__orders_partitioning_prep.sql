@@ -0,0 +1,21 @@
+-- Step 1 of moving orders to monthly range partitions on created_at (V7). Everything here runs
+-- online, so the table stays writable while it scans:
+--   * a unique (id, created_at) index that becomes the existing table's share of the new primary key;
+--   * a validated bound on created_at, which lets V7 attach the existing table as a partition
+--     without scanning it. V7 must run in the same deploy: the bound rejects rows two months out.
+-- Non-transactional, see the .conf next to this file.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS orders_legacy_id_created_at_key
+    ON orders (id, created_at);
+
+UPDATE orders SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+DO $$
+BEGIN
+    EXECUTE format(
+            'ALTER TABLE orders ADD CONSTRAINT orders_legacy_partition_bound '
+                || 'CHECK (created_at IS NOT NULL AND created_at < %L) NOT VALID',
+            date_trunc('month', LOCALTIMESTAMP) + INTERVAL '2 months');
+END
+$$;
+
+ALTER TABLE orders VALIDATE CONSTRAINT orders_legacy_partition_bound;
@@ -0,0 +1,63 @@
+-- Step 2: replace orders with a table range-partitioned by month on created_at. Nothing is copied:
+-- the existing table becomes the partition orders_legacy for everything before the V6 bound, and
+-- monthly partitions named orders_pYYYYMM follow it. OrderPartitionMaintenance keeps creating them
+-- ahead of time and detaches expired ones, orders_legacy included once all of it has expired.
+-- Every step below reuses what V6 built, so the exclusive lock is held for milliseconds.
+LOCK TABLE orders IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE orders RENAME TO orders_legacy;
+-- Implied by the validated V6 check, so no scan
+ALTER TABLE orders_legacy ALTER COLUMN created_at SET NOT NULL;
+-- The partitioned primary key must contain created_at; swap in the index V6 built
+ALTER TABLE orders_legacy DROP CONSTRAINT orders_pkey;
+ALTER TABLE orders_legacy ADD CONSTRAINT orders_legacy_pkey
+    PRIMARY KEY USING INDEX orders_legacy_id_created_at_key;
+ALTER TABLE orders_legacy RENAME CONSTRAINT orders_provider_id_fkey TO orders_legacy_provider_id_fkey;
+ALTER INDEX idx_orders_created_at_id RENAME TO orders_legacy_created_at_id_idx;
+ALTER INDEX idx_orders_provider_created_at_id RENAME TO orders_legacy_provider_created_at_id_idx;
+ALTER INDEX idx_orders_provider_status_created_at_id RENAME TO orders_legacy_provider_status_created_at_id_idx;
+ALTER INDEX idx_orders_status_created_at_id RENAME TO orders_legacy_status_created_at_id_idx;
+ALTER INDEX idx_orders_account_created_at_id RENAME TO orders_legacy_account_created_at_id_idx;
+
+CREATE TABLE orders (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    payment_id UUID,
+    provider_id UUID NOT NULL REFERENCES providers(id),
+    provider_name VARCHAR(255) NOT NULL,
+    account_number VARCHAR(20) NOT NULL,
+    base_amount DECIMAL(10,2) NOT NULL,
+    fee_amount DECIMAL(10,2) NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'NEW',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- The V5 listing indexes, now per partition; attaching orders_legacy adopts its existing ones
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
+CREATE INDEX idx_orders_provider_created_at_id ON orders (provider_id, created_at, id);
+CREATE INDEX idx_orders_provider_status_created_at_id ON orders (provider_id, status, created_at, id);
+CREATE INDEX idx_orders_status_created_at_id ON orders (status, created_at, id);
+CREATE INDEX idx_orders_account_created_at_id ON orders (account_number, created_at, id);
+
+DO $$
+DECLARE
+    bound TIMESTAMP := date_trunc('month', LOCALTIMESTAMP) + INTERVAL '2 months';
+    month TIMESTAMP;
+BEGIN
+    EXECUTE format('ALTER TABLE orders ATTACH PARTITION orders_legacy FOR VALUES FROM (MINVALUE) TO (%L)', bound);
+
+    FOR i IN 0..2 LOOP
+        month := bound + make_interval(months => i);
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || to_char(month, 'YYYYMM'), month, month + INTERVAL '1 month');
+    END LOOP;
+END
+$$;
+
+-- Now enforced by the partition bound
+ALTER TABLE orders_legacy DROP CONSTRAINT orders_legacy_partition_bound;
+
+-- Detached partitions are moved here
+CREATE SCHEMA IF NOT EXISTS archive;
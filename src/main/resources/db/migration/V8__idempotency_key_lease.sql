@@ -0,0 +1,7 @@
+-- Lease on an in-progress Idempotency-Key reservation, refreshed while the request runs. Once it
+-- runs out the owner is presumed dead and a retry with the same request may take the key over,
+-- instead of getting 409 until the key expires. Completed rows have no lease.
+ALTER TABLE idempotency_keys ADD COLUMN locked_until TIMESTAMP;
+
+-- Reservations made by the previous version get the default lease, counted from when they were made
+UPDATE idempotency_keys SET locked_until = created_at + INTERVAL '30 seconds' WHERE response_body IS NULL;
@@ -0,0 +1,52 @@
+package com.example.disbursement.config;
+
+import com.example.disbursement.service.PartnerHedgingPolicy;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsConfigTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MetricsConfig().partnerProviderTagLimit(1));
+    }
+
+    @Test
+    void partnerProviderTagLimit_shouldDropPartnerMetersBeyondTheCap() {
+        Timer first = timer("partner.request", UUID.randomUUID());
+        Timer second = timer("partner.request", UUID.randomUUID());
+
+        first.record(Duration.ofMillis(10));
+        second.record(Duration.ofMillis(10));
+
+        assertThat(first.count()).isEqualTo(1);
+        assertThat(second.count()).isZero();
+        assertThat(meterRegistry.find("partner.request").timers()).hasSize(1);
+    }
+
+    @Test
+    void partnerProviderTagLimit_shouldKeepHedgeLatencyForEveryProvider() {
+        timer("partner.request", UUID.randomUUID());
+        Timer latency = timer(PartnerHedgingPolicy.LATENCY_TIMER, UUID.randomUUID());
+
+        latency.record(Duration.ofMillis(10));
+
+        assertThat(latency.count()).isEqualTo(1);
+    }
+
+    private Timer timer(String name, UUID providerId) {
+        return Timer.builder(name)
+                .tag("provider", providerId.toString())
+                .register(meterRegistry);
+    }
+}
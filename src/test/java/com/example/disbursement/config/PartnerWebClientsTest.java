@@ -0,0 +1,88 @@
+package com.example.disbursement.config;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.support.WireMockPartnerExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartnerWebClientsTest {
+
+    @RegisterExtension
+    static final WireMockPartnerExtension wireMock = new WireMockPartnerExtension();
+
+    private PartnerHttpProperties properties;
+    private PartnerWebClients partnerWebClients;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PartnerHttpProperties();
+        partnerWebClients = new PartnerWebClients(WebClient.builder(), properties, wireMock.url(""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        partnerWebClients.destroy();
+    }
+
+    @Test
+    void forProvider_shouldMergeOverridesByNameOverDefaults() {
+        UUID id = UUID.randomUUID();
+        properties.getProviders().put("globe", PartnerHttpProperties.Settings.builder()
+                .maxConnections(5)
+                .build());
+
+        PartnerHttpProperties.Settings settings = properties.forProvider(id, "Globe");
+
+        assertThat(settings.getMaxConnections()).isEqualTo(5);
+        assertThat(settings.getResponseTimeout()).isEqualTo(properties.getDefaults().getResponseTimeout());
+        assertThat(properties.forProvider(id, "Smart")).isSameAs(properties.getDefaults());
+    }
+
+    @Test
+    void forProvider_shouldApplyProviderResponseTimeout() {
+        ProviderSnapshot slow = provider("Slow");
+        properties.setProviders(Map.of(slow.id().toString(), PartnerHttpProperties.Settings.builder()
+                .responseTimeout(Duration.ofMillis(200))
+                .build()));
+
+        assertThatThrownBy(() -> post(slow, "/disburse-slow"))
+                .isInstanceOf(WebClientRequestException.class);
+        assertThat(post(provider("Globe"), "/disburse-slow")).containsEntry("success", true);
+    }
+
+    @Test
+    void forProvider_shouldFallBackToHttp11WhenHttp2IsEnabled() {
+        ProviderSnapshot provider = provider("Globe");
+        properties.setProviders(Map.of("Globe", PartnerHttpProperties.Settings.builder().http2(true).build()));
+
+        assertThat(post(provider, "/disburse")).containsEntry("success", true);
+        assertThat(partnerWebClients.forProvider(provider)).isSameAs(partnerWebClients.forProvider(provider));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> post(ProviderSnapshot provider, String path) {
+        return partnerWebClients.forProvider(provider).post()
+                .uri(path)
+                .bodyValue(Map.of("orderId", UUID.randomUUID().toString()))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block();
+    }
+
+    private static ProviderSnapshot provider(String name) {
+        return new ProviderSnapshot(UUID.randomUUID(), name, new BigDecimal("10.00"),
+                wireMock.url("/validate"), wireMock.url("/disburse"));
+    }
+}
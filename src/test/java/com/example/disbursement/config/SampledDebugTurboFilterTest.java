@@ -0,0 +1,66 @@
+package com.example.disbursement.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledDebugTurboFilterTest {
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        SampledDebugTurboFilter turboFilter = new SampledDebugTurboFilter();
+        turboFilter.start();
+        loggerContext.addTurboFilter(turboFilter);
+        logger = loggerContext.getLogger("com.example.disbursement.service.OrderService");
+        logger.setLevel(Level.DEBUG);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        loggerContext.stop();
+    }
+
+    @Test
+    void decide_shouldDenyDebugOutsideSampledRequests() {
+        assertThat(logger.isDebugEnabled()).isFalse();
+        assertThat(logger.isInfoEnabled()).isTrue();
+
+        MDC.put(DebugSamplingFilter.SAMPLED_MDC_KEY, "true");
+
+        assertThat(logger.isDebugEnabled()).isTrue();
+        assertThat(logger.isTraceEnabled()).isFalse();
+    }
+
+    @Test
+    void samplingFilter_shouldMarkSampledRequestsOnlyWhileTheyRun() throws Exception {
+        AtomicReference<Boolean> debugDuringRequest = new AtomicReference<>();
+        DebugSamplingFilter samplingFilter = new DebugSamplingFilter();
+
+        ReflectionTestUtils.setField(samplingFilter, "sampleRate", 1.0);
+        samplingFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> debugDuringRequest.set(logger.isDebugEnabled()));
+        assertThat(debugDuringRequest.get()).isTrue();
+        assertThat(logger.isDebugEnabled()).isFalse();
+
+        ReflectionTestUtils.setField(samplingFilter, "sampleRate", 0.0);
+        samplingFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> debugDuringRequest.set(logger.isDebugEnabled()));
+        assertThat(debugDuringRequest.get()).isFalse();
+    }
+}
@@ -1,8 +1,17 @@
 package com.example.disbursement.controller;
 
 import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.OrderFilter;
+import com.example.disbursement.dto.OrderPage;
+import com.example.disbursement.entity.Order;
 import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.dto.jsonapi.OrderDocument;
+import com.example.disbursement.exception.PartnerUnavailableException;
 import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.dto.jsonapi.JsonApiError;
+import com.example.disbursement.service.IdempotencyService;
+import com.example.disbursement.service.OrderBatchService;
+import com.example.disbursement.service.OrderExportService;
 import com.example.disbursement.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +21,31 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +62,15 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderBatchService orderBatchService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private OrderExportService orderExportService;
+
     private UUID orderId;
     private UUID providerId;
     private JsonApiData<OrderDto> testOrderData;
@@ -87,6 +123,111 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.attributes.totalAmount").value(110.00));
     }
 
+    @Test
+    void createLoadOrder_shouldReplayStoredResponseForIdempotencyKey() throws Exception {
+        byte[] stored = """
+            {"data":{"type":"orders","id":"%s","attributes":{"status":"NEW"}}}
+            """.formatted(orderId).getBytes(StandardCharsets.UTF_8);
+        when(idempotencyService.execute(eq("key-1"), anyString(), any(), anyInt(), any()))
+                .thenReturn(new IdempotencyService.StoredResponse(new byte[0], 201, stored, true));
+
+        String requestBody = String.format("""
+            {
+                "data": {
+                    "type": "orders",
+                    "attributes": {
+                        "providerId": "%s",
+                        "accountNumber": "+639123456789",
+                        "amount": 100.00
+                    }
+                }
+            }
+            """, providerId);
+
+        mockMvc.perform(post("/orders/load")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().contentType("application/vnd.api+json"))
+                .andExpect(jsonPath("$.data.id").value(orderId.toString()));
+    }
+
+    @Test
+    void createLoadOrders_shouldReturn200WithPerItemResultsOnPartialFailure() throws Exception {
+        testOrderData.setMeta(Map.of("index", 0, "result", "created"));
+        JsonApiData<OrderDto> rejectedData = JsonApiData.<OrderDto>builder()
+                .type("orders")
+                .attributes(OrderDto.builder().providerId(providerId.toString()).accountNumber("+639000000000").build())
+                .meta(Map.of("index", 1, "result", "rejected", "error", JsonApiError.builder()
+                        .status("422").title("Validation Error").detail("Invalid account").code("VALIDATION_ERROR").build()))
+                .build();
+        when(orderBatchService.createLoadOrders(anyList())).thenReturn(List.of(testOrderData, rejectedData));
+
+        String requestBody = String.format("""
+            {
+                "data": [
+                    {"type": "orders", "attributes": {"providerId": "%1$s", "accountNumber": "+639123456789", "amount": 100.00}},
+                    {"type": "orders", "attributes": {"providerId": "%1$s", "accountNumber": "+639000000000", "amount": 100.00}}
+                ]
+            }
+            """, providerId);
+
+        mockMvc.perform(post("/orders/load/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(orderId.toString()))
+                .andExpect(jsonPath("$.data[0].meta.result").value("created"))
+                .andExpect(jsonPath("$.data[1].id").doesNotExist())
+                .andExpect(jsonPath("$.data[1].meta.result").value("rejected"))
+                .andExpect(jsonPath("$.data[1].meta.error.detail").value("Invalid account"));
+    }
+
+    @Test
+    void createLoadOrders_shouldReturn201WhenAllCreated() throws Exception {
+        testOrderData.setMeta(Map.of("index", 0, "result", "created"));
+        when(orderBatchService.createLoadOrders(anyList())).thenReturn(List.of(testOrderData));
+
+        String requestBody = String.format("""
+            {
+                "data": [
+                    {"type": "orders", "attributes": {"providerId": "%s", "accountNumber": "+639123456789", "amount": 100.00}}
+                ]
+            }
+            """, providerId);
+
+        mockMvc.perform(post("/orders/load/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data[0].meta.index").value(0));
+    }
+
+    @Test
+    void disburseOrders_shouldReturnPerItemResults() throws Exception {
+        UUID paymentId = UUID.randomUUID();
+        testOrderData.getAttributes().setStatus("SUCCESS");
+        testOrderData.setMeta(Map.of("index", 0, "result", "success"));
+        when(orderBatchService.disburseOrders(anyList())).thenReturn(List.of(testOrderData));
+
+        String requestBody = String.format("""
+            {
+                "data": [
+                    {"type": "orders", "id": "%s", "attributes": {"paymentId": "%s"}}
+                ]
+            }
+            """, orderId, paymentId);
+
+        mockMvc.perform(post("/orders/disburse/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(orderId.toString()))
+                .andExpect(jsonPath("$.data[0].meta.result").value("success"));
+    }
+
     @Test
     void disburseOrder_shouldReturn200() throws Exception {
         UUID paymentId = UUID.randomUUID();
@@ -128,16 +269,82 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.attributes.paymentId").value(paymentId.toString()));
     }
 
+    @Test
+    void disburseOrder_shouldReturn503WhenProviderIsAtConcurrencyLimit() throws Exception {
+        when(orderService.disburseOrder(eq(orderId), any(OrderDto.class)))
+                .thenThrow(new PartnerUnavailableException("Provider is at its concurrency limit"));
+
+        String requestBody = String.format("""
+            {
+                "data": {
+                    "type": "orders",
+                    "attributes": {
+                        "paymentId": "%s"
+                    }
+                }
+            }
+            """, UUID.randomUUID());
+
+        mockMvc.perform(post("/orders/load/" + orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errors[0].code").value("PARTNER_UNAVAILABLE"));
+    }
+
+    @Test
+    void disburseOrder_shouldReturn202WhenAsyncResponsePreferred() throws Exception {
+        UUID paymentId = UUID.randomUUID();
+        testOrderData.getAttributes().setStatus("PROCESSING");
+        testOrderData.getAttributes().setPaymentId(paymentId.toString());
+        when(orderService.enqueueDisbursement(eq(orderId), any(OrderDto.class))).thenReturn(testOrderData);
+
+        String requestBody = String.format("""
+            {
+                "data": {
+                    "type": "orders",
+                    "attributes": {
+                        "paymentId": "%s"
+                    }
+                }
+            }
+            """, paymentId);
+
+        mockMvc.perform(post("/orders/load/" + orderId)
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/orders/" + orderId))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.data.attributes.status").value("PROCESSING"));
+    }
+
     @Test
     void getOrder_shouldReturn200() throws Exception {
-        when(orderService.getOrderById(orderId)).thenReturn(testOrderData);
+        Order order = Order.builder()
+                .id(orderId)
+                .providerId(providerId)
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.NEW)
+                .createdAt(LocalDateTime.of(2026, 5, 1, 10, 15, 30))
+                .build();
+        when(orderService.getOrderById(orderId)).thenReturn(new OrderDocument(order));
 
         mockMvc.perform(get("/orders/" + orderId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.type").value("orders"))
                 .andExpect(jsonPath("$.data.id").value(orderId.toString()))
-                .andExpect(jsonPath("$.data.attributes.providerName").value("Globe"));
+                .andExpect(jsonPath("$.data.attributes.providerName").value("Globe"))
+                .andExpect(jsonPath("$.data.attributes.totalAmount").value(110.00))
+                .andExpect(jsonPath("$.data.attributes.createdAt").value("2026-05-01T10:15:30"))
+                .andExpect(jsonPath("$.data.attributes.paymentId").doesNotExist());
     }
 
     @Test
@@ -151,4 +358,76 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.errors").isArray())
                 .andExpect(jsonPath("$.errors[0].status").value("404"));
     }
+
+    @Test
+    void listOrders_shouldPassFiltersAndLinkToNextPage() throws Exception {
+        OrderFilter filter = new OrderFilter(providerId, Order.OrderStatus.SUCCESS, "+639123456789",
+                LocalDateTime.parse("2024-05-01T00:00:00"), null);
+        when(orderService.listOrders(filter, null, 1))
+                .thenReturn(new OrderPage(List.of(testOrderData), "next-page"));
+
+        mockMvc.perform(get(URI.create("/orders?providerId=" + providerId
+                        + "&status=SUCCESS&accountNumber=%2B639123456789&createdFrom=2024-05-01T00:00:00&limit=1"))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(orderId.toString()))
+                .andExpect(jsonPath("$.links.self").value(not(containsString("cursor="))))
+                .andExpect(jsonPath("$.links.next").value(allOf(
+                        containsString("accountNumber=%2B639123456789"),
+                        containsString("cursor=next-page"))));
+    }
+
+    @Test
+    void listOrders_shouldOmitNextLinkOnLastPage() throws Exception {
+        when(orderService.listOrders(any(), eq("last-page"), any()))
+                .thenReturn(new OrderPage(List.of(testOrderData), null));
+
+        mockMvc.perform(get("/orders?cursor=last-page")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links.self").exists())
+                .andExpect(jsonPath("$.links.next").doesNotExist());
+    }
+
+    @Test
+    void listOrders_shouldReturn400ForUnknownStatus() throws Exception {
+        mockMvc.perform(get("/orders")
+                        .param("status", "PENDING")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_PARAMETER"));
+    }
+
+    @Test
+    void exportOrders_shouldStreamGzippedCsvWhenAccepted() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("id\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(orderExportService).export(eq(new OrderFilter(providerId, null, null, null, null)),
+                eq(OrderExportService.Format.CSV), any());
+
+        MvcResult started = mockMvc.perform(get("/orders/export")
+                        .param("providerId", providerId.toString())
+                        .param("format", "csv")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andReturn();
+
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))
+                .readAllBytes();
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo("id\r\n");
+    }
+
+    @Test
+    void exportOrders_shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/orders/export").param("format", "xlsx"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errors[0].detail").value("format must be ndjson or csv"));
+    }
 }
@@ -0,0 +1,99 @@
+package com.example.disbursement.controller;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.service.ReactiveOrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveOrderController.class)
+@ActiveProfiles("reactive")
+class ReactiveOrderControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveOrderService orderService;
+
+    private UUID orderId;
+    private UUID providerId;
+    private JsonApiData<OrderDto> testOrderData;
+
+    @BeforeEach
+    void setUp() {
+        orderId = UUID.randomUUID();
+        providerId = UUID.randomUUID();
+
+        OrderDto orderDto = OrderDto.builder()
+                .providerId(providerId.toString())
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status("NEW")
+                .build();
+
+        testOrderData = JsonApiData.<OrderDto>builder()
+                .type("orders")
+                .id(orderId.toString())
+                .attributes(orderDto)
+                .build();
+    }
+
+    @Test
+    void createLoadOrder_shouldReturn201() {
+        when(orderService.createLoadOrder(any(OrderDto.class))).thenReturn(Mono.just(testOrderData));
+
+        String requestBody = String.format("""
+            {
+                "data": {
+                    "type": "orders",
+                    "attributes": {
+                        "providerId": "%s",
+                        "accountNumber": "+639123456789",
+                        "amount": 100.00
+                    }
+                }
+            }
+            """, providerId);
+
+        webTestClient.post().uri("/orders/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.data.type").isEqualTo("orders")
+                .jsonPath("$.data.attributes.status").isEqualTo("NEW")
+                .jsonPath("$.data.attributes.totalAmount").isEqualTo(110.00);
+    }
+
+    @Test
+    void getOrder_shouldReturn404WhenNotFound() {
+        when(orderService.getOrderById(orderId))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Order not found with ID: " + orderId)));
+
+        webTestClient.get().uri("/orders/" + orderId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errors[0].status").isEqualTo("404");
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.MetricsConfig;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.service.DisbursementMetrics.Operation;
+import com.example.disbursement.service.DisbursementMetrics.Phase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DisbursementMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DisbursementMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MetricsConfig config = new MetricsConfig();
+        meterRegistry.config()
+                .meterFilter(config.requestDataTagsFilter())
+                .meterFilter(config.partnerProviderTagLimit(2));
+        metrics = new DisbursementMetrics(meterRegistry);
+    }
+
+    @Test
+    void timePhase_shouldRecordSuccessAndErrorSeparately() {
+        assertThat(metrics.timePhase(Operation.CREATE, Phase.PERSIST, () -> "saved")).isEqualTo("saved");
+        assertThatThrownBy(() -> metrics.timePhase(Operation.CREATE, Phase.PERSIST, () -> {
+            throw new IllegalStateException("constraint violation");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(phaseCount("create", "persist", "success")).isEqualTo(1);
+        assertThat(phaseCount("create", "persist", "error")).isEqualTo(1);
+        assertThat(phaseCount("disburse", "persist", "success")).isZero();
+    }
+
+    @Test
+    void timePartnerCall_shouldTagOutcome() {
+        UUID providerId = UUID.randomUUID();
+
+        metrics.timePartnerCall(providerId, "disburse", Mono.just(true), success -> success ? "success" : "declined").block();
+        metrics.timePartnerCall(providerId, "disburse", Mono.just(false), success -> success ? "success" : "declined").block();
+        metrics.timePartnerCall(providerId, "validate", Mono.<Void>empty(), response -> "success").block();
+        metrics.timePartnerCall(providerId, "validate", Mono.<Void>error(new ValidationException("Invalid account")),
+                response -> "success").onErrorComplete().block();
+        metrics.timePartnerCall(providerId, "validate", Mono.<Void>error(new PartnerUnavailableException("open")),
+                response -> "success").onErrorComplete().block();
+
+        assertThat(partnerCount(providerId, "disburse", "success")).isEqualTo(1);
+        assertThat(partnerCount(providerId, "disburse", "declined")).isEqualTo(1);
+        assertThat(partnerCount(providerId, "validate", "success")).isEqualTo(1);
+        assertThat(partnerCount(providerId, "validate", "rejected")).isEqualTo(1);
+        assertThat(partnerCount(providerId, "validate", "unavailable")).isEqualTo(1);
+    }
+
+    @Test
+    void meterFilters_shouldBoundTagValues() {
+        for (int i = 0; i < 5; i++) {
+            metrics.timePartnerCall(UUID.randomUUID(), "validate", Mono.<Void>empty(), response -> "success").block();
+        }
+        meterRegistry.counter("orders.created", "orderId", UUID.randomUUID().toString()).increment();
+        meterRegistry.counter("orders.created", "orderId", UUID.randomUUID().toString()).increment();
+
+        assertThat(meterRegistry.find(DisbursementMetrics.PARTNER_TIMER).timers()).hasSize(2);
+        assertThat(meterRegistry.find("orders.created").counters())
+                .singleElement()
+                .satisfies(counter -> assertThat(counter.getId().getTag("orderId")).isNull())
+                .extracting(counter -> counter.count())
+                .isEqualTo(2.0);
+    }
+
+    private long phaseCount(String operation, String phase, String outcome) {
+        return meterRegistry.get(DisbursementMetrics.PHASE_TIMER)
+                .tags("operation", operation, "phase", phase, "outcome", outcome)
+                .timer().count();
+    }
+
+    private long partnerCount(UUID providerId, String operation, String outcome) {
+        return meterRegistry.find(DisbursementMetrics.PARTNER_TIMER)
+                .tags("provider", providerId.toString(), "operation", operation, "outcome", outcome)
+                .timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.entity.Provider;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import com.example.disbursement.repository.DisbursementOutboxRepository;
+import com.example.disbursement.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DisbursementOutboxWorkerTest {
+
+    @Mock
+    private DisbursementOutboxRepository outboxRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProviderService providerService;
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private DisbursementOutboxWorker worker;
+
+    private Provider testProvider;
+    private Order queuedOrder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(worker, "retryBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(worker, "maxRetryBackoff", Duration.ofSeconds(30));
+
+        UUID providerId = UUID.randomUUID();
+        testProvider = Provider.builder()
+                .id(providerId)
+                .name("Globe")
+                .feeAmount(new BigDecimal("10.00"))
+                .validateApiUrl("http://wiremock:8080/validate")
+                .disbursementApiUrl("http://wiremock:8080/disburse")
+                .build();
+
+        queuedOrder = Order.builder()
+                .id(UUID.randomUUID())
+                .paymentId(UUID.randomUUID())
+                .providerId(providerId)
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.PROCESSING)
+                .build();
+    }
+
+    @Test
+    void process_shouldDisburseAndDeleteEntry() {
+        when(orderRepository.findById(queuedOrder.getId())).thenReturn(Optional.of(queuedOrder));
+        when(providerService.getProviderSnapshot(testProvider.getId())).thenReturn(ProviderSnapshot.from(testProvider));
+
+        worker.process(entry(1));
+
+        verify(orderService).completeDisbursement(queuedOrder, ProviderSnapshot.from(testProvider));
+        verify(outboxRepository).delete(7L);
+    }
+
+    @Test
+    void process_shouldRescheduleWithBackoffWhenPartnerCallFails() {
+        when(orderRepository.findById(queuedOrder.getId())).thenReturn(Optional.of(queuedOrder));
+        when(providerService.getProviderSnapshot(testProvider.getId())).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderService.completeDisbursement(any(), any()))
+                .thenThrow(new PartnerUnavailableException("Provider is at its concurrency limit"));
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.process(entry(3));
+
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(7L), availableAt.capture());
+        assertThat(availableAt.getValue()).isAfterOrEqualTo(before.plusSeconds(4));
+        verify(outboxRepository, never()).delete(anyLong());
+    }
+
+    @Test
+    void process_shouldDropEntryForOrderAlreadyCompleted() {
+        queuedOrder.setStatus(Order.OrderStatus.SUCCESS);
+        when(orderRepository.findById(queuedOrder.getId())).thenReturn(Optional.of(queuedOrder));
+
+        worker.process(entry(2));
+
+        verify(outboxRepository).delete(7L);
+        verifyNoInteractions(orderService, providerService);
+    }
+
+    private DisbursementOutboxRepository.Entry entry(int attempts) {
+        return new DisbursementOutboxRepository.Entry(7L, queuedOrder.getId(), queuedOrder.getPaymentId(), attempts);
+    }
+}
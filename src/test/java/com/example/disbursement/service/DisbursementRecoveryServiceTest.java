@@ -0,0 +1,94 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.entity.Provider;
+import com.example.disbursement.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DisbursementRecoveryServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProviderService providerService;
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private DisbursementRecoveryService recoveryService;
+
+    private Provider testProvider;
+    private Order staleOrder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recoveryService, "staleAfter", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(recoveryService, "batchSize", 100);
+
+        UUID providerId = UUID.randomUUID();
+        testProvider = Provider.builder()
+                .id(providerId)
+                .name("Globe")
+                .feeAmount(new BigDecimal("10.00"))
+                .validateApiUrl("http://wiremock:8080/validate")
+                .disbursementApiUrl("http://wiremock:8080/disburse")
+                .build();
+
+        staleOrder = Order.builder()
+                .id(UUID.randomUUID())
+                .paymentId(UUID.randomUUID())
+                .providerId(providerId)
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.PROCESSING)
+                .createdAt(LocalDateTime.now().minusMinutes(20))
+                .updatedAt(LocalDateTime.now().minusMinutes(10))
+                .build();
+    }
+
+    @Test
+    void recoverStaleDisbursements_shouldRedriveClaimedOrder() {
+        LocalDateTime observed = staleOrder.getUpdatedAt();
+        when(orderRepository.findStaleProcessingOrders(any(), eq(100))).thenReturn(List.of(staleOrder));
+        when(orderRepository.touchIfUnchanged(eq(staleOrder.getId()), eq(staleOrder.getCreatedAt()),
+                eq(Order.OrderStatus.PROCESSING), eq(observed), any())).thenReturn(1);
+        when(providerService.getProviderSnapshot(testProvider.getId())).thenReturn(ProviderSnapshot.from(testProvider));
+
+        recoveryService.recoverStaleDisbursements();
+
+        verify(orderService).completeDisbursement(staleOrder, ProviderSnapshot.from(testProvider));
+    }
+
+    @Test
+    void recoverStaleDisbursements_shouldSkipOrderRecoveredElsewhere() {
+        when(orderRepository.findStaleProcessingOrders(any(), eq(100))).thenReturn(List.of(staleOrder));
+        when(orderRepository.touchIfUnchanged(any(), any(), any(), any(), any())).thenReturn(0);
+
+        recoveryService.recoverStaleDisbursements();
+
+        verifyNoInteractions(providerService, orderService);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.CacheConfig;
+import com.example.disbursement.entity.IdempotencyKey;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "POST /orders/load";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository,
+                new ConcurrentMapCacheManager(CacheConfig.IDEMPOTENCY_CACHE), new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(idempotencyService, "lease", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void execute_shouldRunActionOnceAndReplayFromCache() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenReturn(1);
+        when(idempotencyKeyRepository.complete(eq("key-1"), any(), anyInt(), any())).thenReturn(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        IdempotencyService.StoredResponse first = idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201,
+                () -> Map.of("call", calls.incrementAndGet()));
+        IdempotencyService.StoredResponse second = idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201,
+                () -> Map.of("call", calls.incrementAndGet()));
+
+        assertThat(calls).hasValue(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.status()).isEqualTo(201);
+        assertThat(new String(second.body(), StandardCharsets.UTF_8)).isEqualTo("{\"call\":1}");
+        verify(idempotencyKeyRepository).complete(eq("key-1"), any(), eq(201), eq(first.body()));
+        verify(idempotencyKeyRepository, times(1)).reserve(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_shouldReplayStoredResponseFromDatabase() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenReturn(1);
+        IdempotencyService.StoredResponse original = idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201,
+                () -> Map.of("id", "order-1"));
+
+        // A fresh instance has an empty cache, as another node would
+        IdempotencyService otherNode = new IdempotencyService(idempotencyKeyRepository,
+                new ConcurrentMapCacheManager(CacheConfig.IDEMPOTENCY_CACHE), new ObjectMapper());
+        ReflectionTestUtils.setField(otherNode, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(otherNode, "lease", Duration.ofSeconds(30));
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenReturn(0);
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(IdempotencyKey.builder()
+                .key("key-1")
+                .requestFingerprint(original.fingerprint())
+                .statusCode(201)
+                .responseBody(original.body())
+                .build()));
+
+        IdempotencyService.StoredResponse replay = otherNode.execute("key-1", SCOPE, Map.of("amount", 100), 201,
+                () -> { throw new AssertionError("action must not run on replay"); });
+
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.body()).isEqualTo(original.body());
+    }
+
+    @Test
+    void execute_shouldRejectKeyReusedWithDifferentRequest() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenReturn(1);
+        when(idempotencyKeyRepository.complete(eq("key-1"), any(), anyInt(), any())).thenReturn(1);
+        idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201, () -> Map.of("id", "order-1"));
+
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", SCOPE, Map.of("amount", 200), 201,
+                () -> Map.of("id", "order-2")))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("different request");
+    }
+
+    @Test
+    void execute_shouldReportInProgressRequest() {
+        AtomicReference<byte[]> reserved = new AtomicReference<>();
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any()))
+                .thenAnswer(invocation -> reserved.compareAndSet(null, invocation.getArgument(1)) ? 1 : 0);
+        when(idempotencyKeyRepository.findById("key-1")).thenAnswer(invocation -> Optional.of(IdempotencyKey.builder()
+                .key("key-1")
+                .requestFingerprint(reserved.get())
+                .build()));
+
+        // The duplicate arrives while the first request is still running its action
+        idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201, () -> {
+            assertThatThrownBy(() -> idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201, Map::of))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("in progress");
+            return Map.of("id", "order-1");
+        });
+
+        verify(idempotencyKeyRepository).findById("key-1");
+    }
+
+    @Test
+    void execute_shouldReleaseKeyWhenActionFails() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201,
+                () -> { throw new ValidationException("Invalid account"); }))
+                .isInstanceOf(ValidationException.class);
+
+        verify(idempotencyKeyRepository).release(eq("key-1"), any());
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void execute_shouldTakeOverReservationWhoseLeaseRanOut() {
+        // The row an instance that crashed mid-request left behind, its lease no longer refreshed
+        AtomicReference<byte[]> fingerprint = new AtomicReference<>();
+        AtomicReference<LocalDateTime> lockedUntil = new AtomicReference<>(LocalDateTime.now().plusSeconds(30));
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenAnswer(invocation -> {
+            fingerprint.set(invocation.getArgument(1));
+            LocalDateTime now = invocation.getArgument(2);
+            if (!lockedUntil.get().isBefore(now)) {
+                return 0;
+            }
+            lockedUntil.set(invocation.getArgument(4));
+            assertThat(lockedUntil.get()).isEqualTo(now.plusSeconds(30));
+            return 1;
+        });
+        when(idempotencyKeyRepository.findById("key-1")).thenAnswer(invocation -> Optional.of(IdempotencyKey.builder()
+                .key("key-1")
+                .requestFingerprint(fingerprint.get())
+                .build()));
+        when(idempotencyKeyRepository.complete(eq("key-1"), any(), anyInt(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201,
+                () -> Map.of("id", "order-1")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("in progress");
+
+        lockedUntil.set(LocalDateTime.now().minusSeconds(1));
+        IdempotencyService.StoredResponse retry = idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201,
+                () -> Map.of("id", "order-1"));
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(new String(retry.body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"order-1\"}");
+    }
+
+    @Test
+    void refreshLeases_shouldExtendLeasesOfRunningRequestsOnly() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenReturn(1);
+
+        idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201, () -> {
+            idempotencyService.refreshLeases();
+            return Map.of("id", "order-1");
+        });
+        idempotencyService.refreshLeases();
+
+        verify(idempotencyKeyRepository, times(1)).extendLeases(eq(List.of("key-1")), any());
+    }
+
+    @Test
+    void execute_shouldNotCacheResponseWhenReservationWasTakenOver() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), any(), any(), any(), any())).thenReturn(1);
+        when(idempotencyKeyRepository.complete(eq("key-1"), any(), anyInt(), any())).thenReturn(0);
+
+        idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201, () -> Map.of("id", "order-1"));
+        idempotencyService.execute("key-1", SCOPE, Map.of("amount", 100), 201, () -> Map.of("id", "order-2"));
+
+        // Without a cached response the second request goes back to the table
+        verify(idempotencyKeyRepository, times(2)).reserve(any(), any(), any(), any(), any());
+    }
+}
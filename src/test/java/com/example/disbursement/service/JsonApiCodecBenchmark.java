@@ -0,0 +1,149 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.dto.jsonapi.JsonApiRequest;
+import com.example.disbursement.dto.jsonapi.JsonApiResponse;
+import com.example.disbursement.dto.jsonapi.OrderDocument;
+import com.example.disbursement.entity.Order;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON:API bodies through the same Jackson setup Spring MVC uses: reading a create-order request,
+ * writing a single order and a 50-order page, {@code GET /orders/{orderId}} through the mapped
+ * DTOs against {@link OrderDocument}, and {@code createOrderCpuPath}, which chains all
+ * the in-JVM work of {@code POST /orders/load} (read, validate, fee, map, write) without the
+ * partner call or the insert. Run with {@code -Pbenchmark}; the GC profiler reports
+ * {@code gc.alloc.rate.norm} in bytes per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonApiCodecBenchmark {
+
+    private static final byte[] CREATE_REQUEST = ("{\"data\":{\"type\":\"orders\",\"attributes\":{"
+            + "\"providerId\":\"" + UUID.randomUUID() + "\",\"accountNumber\":\"+639123456789\",\"amount\":100.00}}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final JavaType requestType = objectMapper.getTypeFactory()
+            .constructParametricType(JsonApiRequest.class, OrderDto.class);
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final Validator validator = validatorFactory.getValidator();
+
+    private final BigDecimal feeAmount = new BigDecimal("10.00");
+    // Generated by Hibernate on insert; fixed here so SecureRandom does not dominate the path
+    private final UUID orderId = UUID.randomUUID();
+    private final Order order = order(0);
+    // Stands in for the response stream, so only the serializer's own allocations are counted
+    private final ByteArrayOutputStream responseBody = new ByteArrayOutputStream(1024);
+    private final JsonApiResponse<OrderDto> single = JsonApiResponse.single(OrderService.toJsonApiData(order));
+    private final JsonApiResponse<OrderDto> page = JsonApiResponse.list(page(50));
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public JsonApiRequest<OrderDto> readCreateRequest() throws IOException {
+        return objectMapper.readValue(CREATE_REQUEST, requestType);
+    }
+
+    @Benchmark
+    public byte[] writeSingleOrder() throws IOException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public int getOrderMapped() throws IOException {
+        responseBody.reset();
+        objectMapper.writeValue(responseBody, JsonApiResponse.single(OrderService.toJsonApiData(order)));
+        return responseBody.size();
+    }
+
+    @Benchmark
+    public int getOrderStreamed() throws IOException {
+        responseBody.reset();
+        objectMapper.writeValue(responseBody, new OrderDocument(order));
+        return responseBody.size();
+    }
+
+    @Benchmark
+    public byte[] writeOrderPage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] createOrderCpuPath() throws IOException {
+        JsonApiRequest<OrderDto> request = objectMapper.readValue(CREATE_REQUEST, requestType);
+        OrderDto dto = request.getData().getAttributes();
+        if (!validator.validate(dto).isEmpty()) {
+            throw new IllegalStateException("Benchmark request must be valid");
+        }
+        Order order = Order.builder()
+                .id(orderId)
+                .providerId(UUID.fromString(dto.getProviderId()))
+                .providerName("Globe")
+                .accountNumber(dto.getAccountNumber())
+                .baseAmount(dto.getAmount())
+                .feeAmount(feeAmount)
+                .totalAmount(dto.getAmount().add(feeAmount))
+                .status(Order.OrderStatus.NEW)
+                .createdAt(LocalDateTime.now())
+                .build();
+        return objectMapper.writeValueAsBytes(JsonApiResponse.single(OrderService.toJsonApiData(order)));
+    }
+
+    private static List<JsonApiData<OrderDto>> page(int size) {
+        List<JsonApiData<OrderDto>> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(OrderService.toJsonApiData(order(i)));
+        }
+        return data;
+    }
+
+    private static Order order(int i) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .paymentId(UUID.randomUUID())
+                .providerId(UUID.randomUUID())
+                .providerName("Globe")
+                .accountNumber("+63912345" + String.format("%04d", i))
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.SUCCESS)
+                .createdAt(LocalDateTime.of(2026, 5, 1, 10, 15, 30).plusSeconds(i))
+                .updatedAt(LocalDateTime.of(2026, 5, 1, 10, 15, 31).plusSeconds(i))
+                .build();
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.disbursement.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.example.disbursement.config.DebugSamplingFilter;
+import com.example.disbursement.config.SampledDebugTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log cost of one order (create, then disburse) on the calling thread. {@code perOrderDevelopment}
+ * is the classic parameterized calls at DEBUG through a synchronous pattern appender, as the
+ * service logged before the {@code prod} logging mode. The {@code prod} benchmarks use the
+ * fluent key-value calls through {@link SampledDebugTurboFilter} and an async JSON appender, for
+ * an unsampled and a sampled request. The {@code debugDisabled} pair isolates the DEBUG calls of
+ * an unsampled request: classic calls build argument arrays that only escape analysis may remove,
+ * fluent ones allocate nothing by construction. Run with
+ * {@code -Pbenchmark}; the GC profiler reports {@code gc.alloc.rate.norm} in bytes per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingOverheadBenchmark {
+
+    private static final String LOGGER_NAME = "com.example.disbursement.service.OrderService";
+
+    private final String providerId = UUID.randomUUID().toString();
+    private final String accountNumber = "+639123456789";
+    private final BigDecimal amount = new BigDecimal("100.00");
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID paymentId = UUID.randomUUID();
+    private final String validateUrl = "http://partner.example.com/globe/validate";
+    private final String disburseUrl = "http://partner.example.com/globe/disburse";
+
+    private LoggerContext developmentContext;
+    private LoggerContext prodContext;
+    private Logger developmentLog;
+    private Logger prodLog;
+
+    @Setup
+    public void setUp() {
+        developmentContext = new LoggerContext();
+        PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+        pattern.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m %kvp%n");
+        developmentLog = logger(developmentContext, outputAppender(developmentContext, pattern));
+
+        prodContext = new LoggerContext();
+        prodContext.putObject(Environment.class.getName(), new StandardEnvironment());
+        SampledDebugTurboFilter turboFilter = new SampledDebugTurboFilter();
+        turboFilter.setContext(prodContext);
+        turboFilter.start();
+        prodContext.addTurboFilter(turboFilter);
+        StructuredLogEncoder json = new StructuredLogEncoder();
+        json.setFormat("logstash");
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(prodContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(outputAppender(prodContext, json));
+        async.start();
+        prodLog = logger(prodContext, async);
+    }
+
+    @TearDown
+    public void tearDown() {
+        developmentContext.stop();
+        prodContext.stop();
+    }
+
+    @Benchmark
+    public void perOrderDevelopment() {
+        classicDebugCalls(developmentLog);
+        classicInfoCalls(developmentLog);
+    }
+
+    @Benchmark
+    public void perOrderProdUnsampled() {
+        fluentDebugCalls(prodLog);
+        fluentInfoCalls(prodLog);
+    }
+
+    @Benchmark
+    public void perOrderProdSampled(SampledRequest request) {
+        fluentDebugCalls(prodLog);
+        fluentInfoCalls(prodLog);
+    }
+
+    @Benchmark
+    public void debugDisabledClassic() {
+        classicDebugCalls(prodLog);
+    }
+
+    @Benchmark
+    public void debugDisabledFluent() {
+        fluentDebugCalls(prodLog);
+    }
+
+    private void classicDebugCalls(Logger log) {
+        log.debug("Creating load order for provider: {} account: {}", providerId, accountNumber);
+        log.debug("Calling validate API: {} for account: {} with amount: {}", validateUrl, accountNumber, amount);
+        log.debug("Validation successful for account: {}", accountNumber);
+        log.debug("Disbursing order: {} with payment: {}", orderId, paymentId);
+        log.debug("Calling disbursement API: {} for order: {}", disburseUrl, orderId);
+        log.debug("Disbursement result for order {}: {}", orderId, "SUCCESS");
+    }
+
+    private void classicInfoCalls(Logger log) {
+        log.info("Created order with ID: {}", orderId);
+        log.info("Order {} disbursement result: {}", orderId, "SUCCESS");
+    }
+
+    // The calls OrderService and PartnerApiService make for the same order
+    private void fluentDebugCalls(Logger log) {
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("Creating load order")
+                    .addKeyValue("providerId", providerId)
+                    .addKeyValue("account", LogFields.maskAccount(accountNumber))
+                    .log();
+        }
+        if (log.isDebugEnabled()) {
+            log.atDebug().setMessage("Calling validate API")
+                    .addKeyValue("providerId", providerId)
+                    .addKeyValue("account", LogFields.maskAccount(accountNumber))
+                    .addKeyValue("amount", amount)
+                    .log();
+        }
+        log.atDebug().setMessage("Validation successful")
+                .addKeyValue("providerId", providerId)
+                .log();
+        log.atDebug().setMessage("Disbursing order")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("paymentId", paymentId)
+                .log();
+        log.atDebug().setMessage("Calling disbursement API")
+                .addKeyValue("providerId", providerId)
+                .addKeyValue("orderId", orderId)
+                .log();
+        log.atDebug().setMessage("Disbursement API result")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("success", Boolean.TRUE)
+                .log();
+    }
+
+    private void fluentInfoCalls(Logger log) {
+        log.atInfo().setMessage("Created order")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("providerId", providerId)
+                .log();
+        log.atInfo().setMessage("Disbursement completed")
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("providerId", providerId)
+                .addKeyValue("status", "SUCCESS")
+                .log();
+    }
+
+    private static Logger logger(LoggerContext context, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(LOGGER_NAME);
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static Appender<ILoggingEvent> outputAppender(LoggerContext context, Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(context);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    /**
+     * The benchmark thread serving a request picked by {@link DebugSamplingFilter}.
+     */
+    @State(Scope.Thread)
+    public static class SampledRequest {
+
+        @Setup
+        public void enter() {
+            MDC.put(DebugSamplingFilter.SAMPLED_MDC_KEY, "true");
+        }
+
+        @TearDown
+        public void leave() {
+            MDC.remove(DebugSamplingFilter.SAMPLED_MDC_KEY);
+        }
+    }
+}
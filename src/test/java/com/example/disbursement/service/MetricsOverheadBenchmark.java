@@ -0,0 +1,98 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.service.DisbursementMetrics.Operation;
+import com.example.disbursement.service.DisbursementMetrics.Phase;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link DisbursementMetrics} on the request path, against a Prometheus registry with the
+ * bucketed histograms configured in {@code application.yml}. {@code registerPerCall} is the
+ * {@code Timer.builder(...).register(...)} lookup that the timer maps avoid. Run with
+ * {@code -Pbenchmark}; the GC profiler reports {@code gc.alloc.rate.norm} in bytes per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private final PrometheusMeterRegistry registry = histogramRegistry();
+    private final DisbursementMetrics metrics = new DisbursementMetrics(registry);
+    private final UUID providerId = UUID.randomUUID();
+    private final Mono<Boolean> partnerCall = Mono.just(true);
+
+    @Benchmark
+    public String phaseUntimed() {
+        return step();
+    }
+
+    @Benchmark
+    public String phaseTimed() {
+        return metrics.timePhase(Operation.DISBURSE, Phase.PERSIST, MetricsOverheadBenchmark::step);
+    }
+
+    @Benchmark
+    public String registerPerCall() {
+        long start = System.nanoTime();
+        String result = step();
+        Timer.builder(DisbursementMetrics.PHASE_TIMER)
+                .tag("operation", "disburse")
+                .tag("phase", "persist")
+                .tag("outcome", "success")
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    @Benchmark
+    public Boolean partnerCallUntimed() {
+        return partnerCall.block();
+    }
+
+    @Benchmark
+    public Boolean partnerCallTimed() {
+        return metrics.timePartnerCall(providerId, "disburse", partnerCall,
+                success -> success ? "success" : "declined").block();
+    }
+
+    private static String step() {
+        return "persisted";
+    }
+
+    private static PrometheusMeterRegistry histogramRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofNanos(100_000).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+        return registry;
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.dto.jsonapi.JsonApiError;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.entity.Provider;
+import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.OrderJdbcRepository;
+import com.example.disbursement.repository.OrderRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchServiceTest {
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProviderService providerService;
+
+    @Mock
+    private PartnerApiService partnerApiService;
+
+    private OrderBatchService orderBatchService;
+
+    private UUID providerId;
+
+    @BeforeEach
+    void setUp() {
+        orderBatchService = new OrderBatchService(orderJdbcRepository, orderRepository, providerService, partnerApiService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(orderBatchService, "maxBatchSize", 4);
+        ReflectionTestUtils.setField(orderBatchService, "validateConcurrency", 2);
+        ReflectionTestUtils.setField(orderBatchService, "disburseConcurrencyPerProvider", 2);
+
+        providerId = UUID.randomUUID();
+        Provider provider = Provider.builder()
+                .id(providerId)
+                .name("Globe")
+                .feeAmount(new BigDecimal("10.00"))
+                .validateApiUrl("http://wiremock:8080/validate")
+                .disbursementApiUrl("http://wiremock:8080/disburse")
+                .build();
+        lenient().when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(provider));
+        lenient().when(orderJdbcRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(UUID.randomUUID()));
+            return orders;
+        });
+    }
+
+    @Test
+    void createLoadOrders_shouldInsertAcceptedAndReportRejectedInRequestOrder() {
+        UUID unknownProviderId = UUID.randomUUID();
+        when(providerService.getProviderSnapshot(unknownProviderId))
+                .thenThrow(new ResourceNotFoundException("Provider not found with ID: " + unknownProviderId));
+        when(partnerApiService.validateLoadAsync(any(), eq("+639123456789"), any())).thenReturn(Mono.empty());
+        when(partnerApiService.validateLoadAsync(any(), eq("+639000000000"), any()))
+                .thenReturn(Mono.error(new ValidationException("Invalid account")));
+
+        List<JsonApiData<OrderDto>> results = orderBatchService.createLoadOrders(List.of(
+                request(providerId.toString(), "+639123456789"),
+                request(providerId.toString(), "+639000000000"),
+                request(unknownProviderId.toString(), "+639123456789")));
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(0).getMeta()).containsEntry("index", 0).containsEntry("result", "created");
+        assertThat(results.get(0).getAttributes().getTotalAmount()).isEqualByComparingTo(new BigDecimal("110.00"));
+        assertThat(results.get(1).getId()).isNull();
+        assertThat(results.get(1).getMeta()).containsEntry("result", "rejected");
+        assertThat(((JsonApiError) results.get(1).getMeta().get("error")).getDetail()).isEqualTo("Invalid account");
+        assertThat(((JsonApiError) results.get(2).getMeta().get("error")).getStatus()).isEqualTo("404");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Order>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(orderJdbcRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Order::getAccountNumber).containsExactly("+639123456789");
+    }
+
+    @Test
+    void createLoadOrders_shouldRejectInvalidAttributesWithoutCallingPartner() {
+        List<JsonApiData<OrderDto>> results = orderBatchService.createLoadOrders(List.of(
+                request(providerId.toString(), "09123456789"),
+                request("not-a-uuid", "+639123456789")));
+
+        assertThat(results).allSatisfy(result -> assertThat(result.getMeta()).containsEntry("result", "rejected"));
+        assertThat(((JsonApiError) results.get(0).getMeta().get("error")).getDetail()).startsWith("accountNumber");
+        verifyNoInteractions(partnerApiService, orderJdbcRepository);
+    }
+
+    @Test
+    void createLoadOrders_shouldRejectOversizedBatch() {
+        List<OrderDto> dtos = Collections.nCopies(5, request(providerId.toString(), "+639123456789"));
+
+        assertThatThrownBy(() -> orderBatchService.createLoadOrders(dtos))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("4");
+        verifyNoInteractions(partnerApiService, orderJdbcRepository);
+    }
+
+    @Test
+    void disburseOrders_shouldClaimCallPartnerAndRecordOutcomesInBulk() {
+        Order succeeds = claimedOrder();
+        Order fails = claimedOrder();
+        UUID alreadyDone = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(orderJdbcRepository.claimAll(anyMap(), any())).thenReturn(List.of(succeeds, fails));
+        when(orderRepository.findAllById(any())).thenReturn(List.of(Order.builder()
+                .id(alreadyDone).status(Order.OrderStatus.SUCCESS).build()));
+        when(partnerApiService.disburseLoadAsync(any(), eq(succeeds.getId()), any(), any(), any()))
+                .thenReturn(Mono.just(true));
+        when(partnerApiService.disburseLoadAsync(any(), eq(fails.getId()), any(), any(), any()))
+                .thenReturn(Mono.just(false));
+        when(orderJdbcRepository.completeAll(any(), anyMap(), any())).thenReturn(Set.of(succeeds.getId(), fails.getId()));
+
+        List<JsonApiData<OrderDto>> results = orderBatchService.disburseOrders(List.of(
+                disburseItem(succeeds.getId().toString(), succeeds.getPaymentId().toString()),
+                disburseItem(fails.getId().toString(), fails.getPaymentId().toString()),
+                disburseItem(alreadyDone.toString(), UUID.randomUUID().toString()),
+                disburseItem(missing.toString(), "not-a-uuid")));
+
+        assertThat(results).extracting(result -> result.getMeta().get("result"))
+                .containsExactly("success", "failed", "rejected", "rejected");
+        assertThat(((JsonApiError) results.get(2).getMeta().get("error")).getStatus()).isEqualTo("409");
+        assertThat(results.get(2).getId()).isEqualTo(alreadyDone.toString());
+        assertThat(((JsonApiError) results.get(3).getMeta().get("error")).getStatus()).isEqualTo("422");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<UUID, UUID>> claims = ArgumentCaptor.forClass(Map.class);
+        verify(orderJdbcRepository).claimAll(claims.capture(), any());
+        assertThat(claims.getValue()).containsOnlyKeys(succeeds.getId(), fails.getId(), alreadyDone);
+        verify(orderJdbcRepository).completeAll(eq(List.of(succeeds, fails)), eq(Map.of(
+                succeeds.getId(), Order.OrderStatus.SUCCESS,
+                fails.getId(), Order.OrderStatus.FAILED)), any());
+    }
+
+    @Test
+    void disburseOrders_shouldLeaveOrderProcessingWhenPartnerCallErrors() {
+        Order order = claimedOrder();
+        when(orderJdbcRepository.claimAll(anyMap(), any())).thenReturn(List.of(order));
+        when(partnerApiService.disburseLoadAsync(any(), any(), any(), any(), any()))
+                .thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+
+        List<JsonApiData<OrderDto>> results = orderBatchService.disburseOrders(List.of(
+                disburseItem(order.getId().toString(), order.getPaymentId().toString())));
+
+        assertThat(results.get(0).getMeta()).containsEntry("result", "processing");
+        verify(orderJdbcRepository, never()).completeAll(any(), anyMap(), any());
+    }
+
+    @Test
+    void disburseOrders_shouldReleaseOrdersWhoseProviderIsMissing() {
+        Order order = claimedOrder();
+        Order orphan = claimedOrder();
+        UUID deletedProviderId = UUID.randomUUID();
+        orphan.setProviderId(deletedProviderId);
+        when(orderJdbcRepository.claimAll(anyMap(), any())).thenReturn(List.of(order, orphan));
+        when(providerService.getProviderSnapshot(deletedProviderId))
+                .thenThrow(new ResourceNotFoundException("Provider not found with ID: " + deletedProviderId));
+        when(partnerApiService.disburseLoadAsync(any(), eq(order.getId()), any(), any(), any()))
+                .thenReturn(Mono.just(true));
+        when(orderJdbcRepository.completeAll(any(), anyMap(), any())).thenReturn(Set.of(order.getId()));
+
+        List<JsonApiData<OrderDto>> results = orderBatchService.disburseOrders(List.of(
+                disburseItem(order.getId().toString(), order.getPaymentId().toString()),
+                disburseItem(orphan.getId().toString(), orphan.getPaymentId().toString())));
+
+        assertThat(results).extracting(result -> result.getMeta().get("result"))
+                .containsExactly("success", "rejected");
+        assertThat(((JsonApiError) results.get(1).getMeta().get("error")).getStatus()).isEqualTo("404");
+        verify(orderJdbcRepository).releaseAll(eq(List.of(orphan)), any());
+        verify(partnerApiService, never()).disburseLoadAsync(any(), eq(orphan.getId()), any(), any(), any());
+    }
+
+    @Test
+    void disburseOrders_shouldReleaseClaimWhenProviderLookupFails() {
+        Order order = claimedOrder();
+        when(orderJdbcRepository.claimAll(anyMap(), any())).thenReturn(List.of(order));
+        when(providerService.getProviderSnapshot(providerId)).thenThrow(new IllegalStateException("Database down"));
+
+        assertThatThrownBy(() -> orderBatchService.disburseOrders(List.of(
+                disburseItem(order.getId().toString(), order.getPaymentId().toString()))))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(orderJdbcRepository).releaseAll(eq(List.of(order)), any());
+        verifyNoInteractions(partnerApiService);
+    }
+
+    private Order claimedOrder() {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .paymentId(UUID.randomUUID())
+                .providerId(providerId)
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.PROCESSING)
+                .build();
+    }
+
+    private static JsonApiData<OrderDto> disburseItem(String orderId, String paymentId) {
+        return JsonApiData.<OrderDto>builder()
+                .type("orders")
+                .id(orderId)
+                .attributes(OrderDto.builder().paymentId(paymentId).build())
+                .build();
+    }
+
+    private static OrderDto request(String providerId, String accountNumber) {
+        return OrderDto.builder()
+                .providerId(providerId)
+                .accountNumber(accountNumber)
+                .amount(new BigDecimal("100.00"))
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderFilter;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.repository.OrderJdbcRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderFilter filter = new OrderFilter(null, null, null, null, null);
+    private OrderExportService exportService;
+    private List<Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new OrderExportService(orderJdbcRepository, transactionManager, objectMapper);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        orders = List.of(
+                order("Globe", "+639123456789", null),
+                order("Smart, \"Inc\"", "+639987654321", UUID.randomUUID()));
+        doAnswer(invocation -> {
+            Consumer<Order> consumer = invocation.getArgument(2);
+            orders.forEach(consumer);
+            return null;
+        }).when(orderJdbcRepository).streamAll(eq(filter), anyInt(), any());
+    }
+
+    @Test
+    void export_shouldWriteOneJsonObjectPerLineInsideReadOnlyTransaction() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(exportService.export(filter, OrderExportService.Format.NDJSON, out)).isEqualTo(2);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asText()).isEqualTo(orders.get(0).getId().toString());
+        assertThat(first.get("paymentId").isNull()).isTrue();
+        assertThat(first.get("totalAmount").decimalValue()).isEqualByComparingTo("110.00");
+        assertThat(objectMapper.readTree(lines[1]).get("providerName").asText()).isEqualTo("Smart, \"Inc\"");
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void export_shouldQuoteCsvFieldsThatNeedIt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(filter, OrderExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,paymentId,providerId,providerName,");
+        assertThat(lines[1]).contains(",Globe,+639123456789,100.00,10.00,110.00,SUCCESS,");
+        assertThat(lines[2]).contains(",\"Smart, \"\"Inc\"\"\",+639987654321,");
+    }
+
+    @Test
+    void export_shouldRollBackWhenClientGoesAway() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Enough rows to overflow the generator's buffer while the cursor is still open
+        orders = Collections.nCopies(200, orders.get(0));
+
+        assertThatThrownBy(() -> exportService.export(filter, OrderExportService.Format.NDJSON, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        verify(transactionManager).rollback(any());
+    }
+
+    private static Order order(String providerName, String accountNumber, UUID paymentId) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .paymentId(paymentId)
+                .providerId(UUID.randomUUID())
+                .providerName(providerName)
+                .accountNumber(accountNumber)
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.SUCCESS)
+                .createdAt(LocalDateTime.parse("2024-05-01T10:15:30"))
+                .updatedAt(LocalDateTime.parse("2024-05-01T10:15:31"))
+                .build();
+    }
+}
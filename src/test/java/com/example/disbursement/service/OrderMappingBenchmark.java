@@ -0,0 +1,121 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.ProviderDto;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.entity.Provider;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request CPU work around an order that never leaves the JVM: entity to JSON:API mapping,
+ * fee arithmetic and bean validation of {@link OrderDto}, as done for every batch item.
+ * {@code accountPatternOnly} is the bare regex under the {@code @Pattern} constraint, so the
+ * validator's own overhead can be read off. Run with {@code -Pbenchmark}; the GC profiler
+ * reports {@code gc.alloc.rate.norm} in bytes per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+
+    private static final Pattern ACCOUNT_PATTERN = Pattern.compile("^\\+63\\d{10}$");
+
+    private final Order order = Order.builder()
+            .id(UUID.randomUUID())
+            .paymentId(UUID.randomUUID())
+            .providerId(UUID.randomUUID())
+            .providerName("Globe")
+            .accountNumber("+639123456789")
+            .baseAmount(new BigDecimal("100.00"))
+            .feeAmount(new BigDecimal("10.00"))
+            .totalAmount(new BigDecimal("110.00"))
+            .status(Order.OrderStatus.SUCCESS)
+            .createdAt(LocalDateTime.of(2026, 5, 1, 10, 15, 30, 123_456_000))
+            .updatedAt(LocalDateTime.of(2026, 5, 1, 10, 15, 31, 654_321_000))
+            .build();
+
+    private final Provider provider = Provider.builder()
+            .id(UUID.randomUUID())
+            .name("Globe")
+            .feeAmount(new BigDecimal("10.00"))
+            .validateApiUrl("http://partner.example.com/globe/validate")
+            .disbursementApiUrl("http://partner.example.com/globe/disburse")
+            .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+            .build();
+
+    private final OrderDto createRequest = OrderDto.builder()
+            .providerId(UUID.randomUUID().toString())
+            .accountNumber("+639123456789")
+            .amount(new BigDecimal("100.00"))
+            .build();
+
+    private final BigDecimal feeAmount = new BigDecimal("10.00");
+    private final String amountText = "100.00";
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final Validator validator = validatorFactory.getValidator();
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public JsonApiData<OrderDto> orderToJsonApiData() {
+        return OrderService.toJsonApiData(order);
+    }
+
+    @Benchmark
+    public JsonApiData<ProviderDto> providerToJsonApiData() {
+        return ProviderService.toJsonApiData(provider);
+    }
+
+    @Benchmark
+    public BigDecimal feeTotal() {
+        return createRequest.getAmount().add(feeAmount);
+    }
+
+    @Benchmark
+    public BigDecimal feeTotalFromText() {
+        return new BigDecimal(amountText).add(feeAmount);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<OrderDto>> validateOrderDto() {
+        return validator.validate(createRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<OrderDto>> validateAccountNumber() {
+        return validator.validateProperty(createRequest, "accountNumber");
+    }
+
+    @Benchmark
+    public boolean accountPatternOnly() {
+        return ACCOUNT_PATTERN.matcher(createRequest.getAccountNumber()).matches();
+    }
+}
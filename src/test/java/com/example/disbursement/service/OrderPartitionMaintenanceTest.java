@@ -0,0 +1,109 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.repository.OrderPartitionRepository;
+import com.example.disbursement.repository.OrderPartitionRepository.OrderPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPartitionMaintenanceTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private OrderPartitionRepository partitionRepository;
+
+    @InjectMocks
+    private OrderPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(maintenance, "monthsAhead", 3);
+        ReflectionTestUtils.setField(maintenance, "retentionMonths", 13);
+        ReflectionTestUtils.setField(maintenance, "archiveSchema", "archive");
+    }
+
+    @Test
+    void monthsToCreate_shouldFillFromNewestPartitionThroughMonthsAhead() {
+        List<OrderPartition> partitions = List.of(
+                partition("orders_legacy", 2026, 10),
+                partition("orders_p202610", 2026, 11));
+
+        assertThat(OrderPartitionMaintenance.monthsToCreate(partitions, CURRENT, 3))
+                .containsExactly(YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+        assertThat(OrderPartitionMaintenance.monthsToCreate(
+                List.of(partition("orders_p202701", 2027, 2)), CURRENT, 3)).isEmpty();
+    }
+
+    @Test
+    void expired_shouldSelectPartitionsEndingOnOrBeforeCutoff() {
+        OrderPartition legacy = partition("orders_legacy", 2025, 9);
+        OrderPartition september = partition("orders_p202509", 2025, 10);
+        OrderPartition pending = new OrderPartition("orders_p202507", LocalDateTime.of(2025, 8, 1, 0, 0), true);
+
+        assertThat(OrderPartitionMaintenance.expired(List.of(legacy, september, pending),
+                LocalDateTime.of(2025, 9, 1, 0, 0)))
+                .containsExactly(legacy);
+    }
+
+    @Test
+    void maintain_shouldCreateFutureAndArchiveExpiredPartitions() {
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                partition("orders_legacy", 2025, 9),
+                partition("orders_p202509", 2025, 10),
+                partition("orders_p202612", 2027, 1)));
+
+        maintenance.maintain(CURRENT);
+
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2027, 1));
+        verify(partitionRepository, never()).createMonthlyPartition(YearMonth.of(2026, 12));
+        verify(partitionRepository).detach("orders_legacy");
+        verify(partitionRepository).moveToSchema("orders_legacy", "archive");
+        verify(partitionRepository, never()).detach("orders_p202509");
+    }
+
+    @Test
+    void maintain_shouldFinishInterruptedDetachAndCarryOnAfterFailure() {
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                new OrderPartition("orders_p202501", LocalDateTime.of(2025, 2, 1, 0, 0), true),
+                partition("orders_p202701", 2027, 2)));
+        doThrow(new DataAccessResourceFailureException("lock timeout"))
+                .when(partitionRepository).finalizeDetach("orders_p202501");
+
+        maintenance.maintain(CURRENT);
+
+        verify(partitionRepository, never()).moveToSchema(any(), any());
+        verify(partitionRepository, never()).createMonthlyPartition(any());
+        verify(partitionRepository, never()).detach(any());
+    }
+
+    @Test
+    void maintainPartitions_shouldSkipWhenAnotherReplicaHoldsTheLock() {
+        when(partitionRepository.runExclusively(any())).thenReturn(false);
+
+        maintenance.maintainPartitions();
+
+        verify(partitionRepository, never()).findPartitions();
+    }
+
+    private static OrderPartition partition(String name, int year, int month) {
+        return new OrderPartition(name, LocalDateTime.of(year, month, 1, 0, 0), false);
+    }
+}
@@ -1,26 +1,50 @@
 package com.example.disbursement.service;
 
 import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.OrderFilter;
+import com.example.disbursement.dto.OrderPage;
+import com.example.disbursement.dto.ProviderSnapshot;
 import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.dto.jsonapi.JsonApiResponse;
+import com.example.disbursement.dto.jsonapi.OrderDocument;
 import com.example.disbursement.entity.Order;
 import com.example.disbursement.entity.Provider;
+import com.example.disbursement.exception.PartnerUnavailableException;
 import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.DisbursementOutboxRepository;
 import com.example.disbursement.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +59,12 @@ class OrderServiceTest {
     @Mock
     private PartnerApiService partnerApiService;
 
+    @Mock
+    private DisbursementOutboxRepository outboxRepository;
+
+    @Spy
+    private DisbursementMetrics metrics = new DisbursementMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private OrderService orderService;
 
@@ -45,6 +75,10 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(orderService, "idempotencyWaitTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(orderService, "idempotencyPollInterval", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(orderService, "defaultListLimit", 50);
+        ReflectionTestUtils.setField(orderService, "maxListLimit", 200);
         providerId = UUID.randomUUID();
         orderId = UUID.randomUUID();
 
@@ -79,7 +113,7 @@ class OrderServiceTest {
                 .amount(new BigDecimal("100.00"))
                 .build();
 
-        when(providerService.getProviderById(providerId)).thenReturn(testProvider);
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
         doNothing().when(partnerApiService).validateLoad(any(), any(), any());
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
@@ -91,7 +125,7 @@ class OrderServiceTest {
         assertThat(result.getAttributes().getTotalAmount()).isEqualByComparingTo(new BigDecimal("110.00"));
 
         verify(partnerApiService).validateLoad(
-                eq(testProvider.getValidateApiUrl()),
+                eq(ProviderSnapshot.from(testProvider)),
                 eq("+639123456789"),
                 eq(new BigDecimal("100.00"))
         );
@@ -104,30 +138,20 @@ class OrderServiceTest {
                 .paymentId(paymentId.toString())
                 .build();
 
-        Order successOrder = Order.builder()
-                .id(orderId)
-                .providerId(providerId)
-                .providerName("Globe")
-                .accountNumber("+639123456789")
-                .baseAmount(new BigDecimal("100.00"))
-                .feeAmount(new BigDecimal("10.00"))
-                .totalAmount(new BigDecimal("110.00"))
-                .status(Order.OrderStatus.SUCCESS)
-                .paymentId(paymentId)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(providerService.getProviderById(providerId)).thenReturn(testProvider);
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(1);
         when(partnerApiService.disburseLoad(any(), any(), any(), any(), any())).thenReturn(true);
-        when(orderRepository.save(any(Order.class))).thenReturn(successOrder);
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.SUCCESS), eq(paymentId), any())).thenReturn(1);
 
         JsonApiData<OrderDto> result = orderService.disburseOrder(orderId, requestDto);
 
         assertThat(result).isNotNull();
         assertThat(result.getAttributes().getStatus()).isEqualTo("SUCCESS");
         assertThat(result.getAttributes().getPaymentId()).isEqualTo(paymentId.toString());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -137,29 +161,198 @@ class OrderServiceTest {
                 .paymentId(paymentId.toString())
                 .build();
 
-        Order failedOrder = Order.builder()
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(1);
+        when(partnerApiService.disburseLoad(any(), any(), any(), any(), any())).thenReturn(false);
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.FAILED), eq(paymentId), any())).thenReturn(1);
+
+        JsonApiData<OrderDto> result = orderService.disburseOrder(orderId, requestDto);
+
+        assertThat(result).isNotNull();
+        assertThat(result.getAttributes().getStatus()).isEqualTo("FAILED");
+    }
+
+    @Test
+    void disburseOrder_shouldThrowWhenClaimLostToConcurrentRequest() {
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(paymentId.toString())
+                .build();
+        Order processingOrder = Order.builder()
                 .id(orderId)
                 .providerId(providerId)
-                .providerName("Globe")
-                .accountNumber("+639123456789")
-                .baseAmount(new BigDecimal("100.00"))
-                .feeAmount(new BigDecimal("10.00"))
-                .totalAmount(new BigDecimal("110.00"))
-                .status(Order.OrderStatus.FAILED)
-                .paymentId(paymentId)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
+                .status(Order.OrderStatus.PROCESSING)
+                .build();
+
+        when(orderRepository.findById(orderId))
+                .thenReturn(Optional.of(testOrder))
+                .thenReturn(Optional.of(processingOrder));
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> orderService.disburseOrder(orderId, requestDto))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PROCESSING");
+        verifyNoInteractions(partnerApiService);
+    }
+
+    @Test
+    void disburseOrder_shouldReleaseClaimWhenProviderIsAtConcurrencyLimit() {
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(paymentId.toString())
                 .build();
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(providerService.getProviderById(providerId)).thenReturn(testProvider);
-        when(partnerApiService.disburseLoad(any(), any(), any(), any(), any())).thenReturn(false);
-        when(orderRepository.save(any(Order.class))).thenReturn(failedOrder);
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(1);
+        when(partnerApiService.disburseLoad(any(), any(), any(), any(), any()))
+                .thenThrow(new PartnerUnavailableException("Provider is at its concurrency limit"));
 
-        JsonApiData<OrderDto> result = orderService.disburseOrder(orderId, requestDto);
+        assertThatThrownBy(() -> orderService.disburseOrder(orderId, requestDto))
+                .isInstanceOf(PartnerUnavailableException.class);
+        verify(orderRepository).compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.NEW), isNull(), any());
+    }
+
+    @Test
+    void disburseOrder_shouldKeepOrderProcessingWhenOutcomeIsUnknown() {
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(paymentId.toString())
+                .build();
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(1);
+        // An attempt answered 503, then the retry was refused by the open breaker
+        WebClientResponseException sent = WebClientResponseException.create(503, "Service Unavailable", null, null, null);
+        sent.addSuppressed(new PartnerUnavailableException("Partner endpoint is unavailable"));
+        when(partnerApiService.disburseLoad(any(), any(), any(), any(), any())).thenThrow(sent);
+
+        assertThatThrownBy(() -> orderService.disburseOrder(orderId, requestDto)).isSameAs(sent);
+        verify(orderRepository, never()).compareAndSetStatus(any(), any(), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.NEW), any(), any());
+    }
+
+    @Test
+    void disburseOrder_shouldReplayCompletedDisbursementForSamePayment() {
+        UUID paymentId = UUID.randomUUID();
+        testOrder.setStatus(Order.OrderStatus.SUCCESS);
+        testOrder.setPaymentId(paymentId);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+
+        JsonApiData<OrderDto> result = orderService.disburseOrder(orderId,
+                OrderDto.builder().paymentId(paymentId.toString()).build());
+
+        assertThat(result.getAttributes().getStatus()).isEqualTo("SUCCESS");
+        assertThat(result.getAttributes().getPaymentId()).isEqualTo(paymentId.toString());
+        verify(orderRepository, never()).compareAndSetStatus(any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(partnerApiService);
+    }
+
+    @Test
+    void disburseOrder_shouldWaitForDisbursementRunningElsewhere() {
+        UUID paymentId = UUID.randomUUID();
+        Order processing = Order.builder().id(orderId).providerId(providerId).paymentId(paymentId)
+                .status(Order.OrderStatus.PROCESSING).build();
+        Order done = Order.builder().id(orderId).providerId(providerId).paymentId(paymentId)
+                .status(Order.OrderStatus.FAILED).build();
+        when(orderRepository.findById(orderId))
+                .thenReturn(Optional.of(processing), Optional.of(processing), Optional.of(done));
+
+        JsonApiData<OrderDto> result = orderService.disburseOrder(orderId,
+                OrderDto.builder().paymentId(paymentId.toString()).build());
 
-        assertThat(result).isNotNull();
         assertThat(result.getAttributes().getStatus()).isEqualTo("FAILED");
+        verifyNoInteractions(partnerApiService);
+    }
+
+    @Test
+    void disburseOrder_shouldShareInFlightResultWithConcurrentDuplicate() throws Exception {
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder().paymentId(paymentId.toString()).build();
+        CountDownLatch partnerCalled = new CountDownLatch(1);
+        CountDownLatch partnerRelease = new CountDownLatch(1);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), any(), any(), any(), eq(paymentId), any())).thenReturn(1);
+        when(partnerApiService.disburseLoad(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            partnerCalled.countDown();
+            partnerRelease.await();
+            return true;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<JsonApiData<OrderDto>> first = executor.submit(() -> orderService.disburseOrder(orderId, requestDto));
+            assertThat(partnerCalled.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<JsonApiData<OrderDto>> duplicate = executor.submit(() -> orderService.disburseOrder(orderId, requestDto));
+            Thread.sleep(50);
+            partnerRelease.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getAttributes().getStatus()).isEqualTo("SUCCESS");
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getAttributes().getStatus()).isEqualTo("SUCCESS");
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(partnerApiService, times(1)).disburseLoad(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void disburseOrder_shouldAnswerDuplicateWithProcessingOrderWhenOriginalOutlastsWait() throws Exception {
+        ReflectionTestUtils.setField(orderService, "idempotencyWaitTimeout", null);
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder().paymentId(paymentId.toString()).build();
+        CountDownLatch partnerCalled = new CountDownLatch(1);
+        CountDownLatch partnerRelease = new CountDownLatch(1);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), any(), any(), any(), eq(paymentId), any())).thenReturn(1);
+        when(partnerApiService.maxDisburseDuration(any())).thenReturn(Duration.ofMillis(50));
+        when(partnerApiService.disburseLoad(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            partnerCalled.countDown();
+            partnerRelease.await();
+            return true;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<JsonApiData<OrderDto>> first = executor.submit(() -> orderService.disburseOrder(orderId, requestDto));
+            assertThat(partnerCalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Not a 409: the retry is the same payment, so it gets the order as it stands
+            JsonApiData<OrderDto> duplicate = orderService.disburseOrder(orderId, requestDto);
+            assertThat(duplicate.getAttributes().getStatus()).isEqualTo("PROCESSING");
+
+            partnerRelease.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getAttributes().getStatus()).isEqualTo("SUCCESS");
+        } finally {
+            partnerRelease.countDown();
+            executor.shutdownNow();
+        }
+        verify(partnerApiService, times(1)).disburseLoad(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void disburseOrder_shouldRejectDifferentPaymentForClaimedOrder() {
+        testOrder.setStatus(Order.OrderStatus.SUCCESS);
+        testOrder.setPaymentId(UUID.randomUUID());
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+
+        assertThatThrownBy(() -> orderService.disburseOrder(orderId,
+                OrderDto.builder().paymentId(UUID.randomUUID().toString()).build()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SUCCESS");
+        verifyNoInteractions(partnerApiService);
     }
 
     @Test
@@ -176,15 +369,102 @@ class OrderServiceTest {
                 .hasMessageContaining("Order cannot be disbursed");
     }
 
+    @Test
+    void enqueueDisbursement_shouldClaimAndQueueWithoutCallingPartner() {
+        ReflectionTestUtils.setField(orderService, "outboxEnabled", true);
+        UUID paymentId = UUID.randomUUID();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(outboxRepository.claimOrderAndEnqueue(eq(orderId), eq(testOrder.getCreatedAt()), eq(paymentId), any())).thenReturn(1);
+
+        JsonApiData<OrderDto> result = orderService.enqueueDisbursement(orderId,
+                OrderDto.builder().paymentId(paymentId.toString()).build());
+
+        assertThat(result.getAttributes().getStatus()).isEqualTo("PROCESSING");
+        assertThat(result.getAttributes().getPaymentId()).isEqualTo(paymentId.toString());
+        verifyNoInteractions(partnerApiService);
+    }
+
+    @Test
+    void enqueueDisbursement_shouldReturnQueuedOrderForSamePayment() {
+        ReflectionTestUtils.setField(orderService, "outboxEnabled", true);
+        UUID paymentId = UUID.randomUUID();
+        testOrder.setStatus(Order.OrderStatus.PROCESSING);
+        testOrder.setPaymentId(paymentId);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+
+        JsonApiData<OrderDto> result = orderService.enqueueDisbursement(orderId,
+                OrderDto.builder().paymentId(paymentId.toString()).build());
+
+        assertThat(result.getAttributes().getStatus()).isEqualTo("PROCESSING");
+        verifyNoInteractions(outboxRepository, partnerApiService);
+    }
+
+    @Test
+    void enqueueDisbursement_shouldDisburseSynchronouslyWhenOutboxDisabled() {
+        UUID paymentId = UUID.randomUUID();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(providerService.getProviderSnapshot(providerId)).thenReturn(ProviderSnapshot.from(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(1);
+        when(partnerApiService.disburseLoad(any(), any(), any(), any(), any())).thenReturn(true);
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.SUCCESS), eq(paymentId), any())).thenReturn(1);
+
+        JsonApiData<OrderDto> result = orderService.enqueueDisbursement(orderId,
+                OrderDto.builder().paymentId(paymentId.toString()).build());
+
+        assertThat(result.getAttributes().getStatus()).isEqualTo("SUCCESS");
+        verifyNoInteractions(outboxRepository);
+    }
+
     @Test
     void getOrderById_shouldReturnOrder() {
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
 
-        JsonApiData<OrderDto> result = orderService.getOrderById(orderId);
+        OrderDocument result = orderService.getOrderById(orderId);
 
-        assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(orderId.toString());
-        assertThat(result.getAttributes().getProviderName()).isEqualTo("Globe");
+        assertThat(result.order()).isSameAs(testOrder);
+    }
+
+    @Test
+    void getOrderById_shouldWriteSameBytesAsMappedResponse() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Order completed = Order.builder()
+                .id(orderId)
+                .paymentId(UUID.randomUUID())
+                .providerId(providerId)
+                .providerName("Globe \"Prepaid\" \\ñ\n")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("1E+3"))
+                .feeAmount(new BigDecimal("10.50"))
+                .totalAmount(new BigDecimal("1010.50"))
+                .status(Order.OrderStatus.SUCCESS)
+                .createdAt(LocalDateTime.of(2026, 5, 1, 10, 15))
+                .updatedAt(LocalDateTime.of(2026, 5, 1, 10, 15, 30, 123_456_000))
+                .build();
+        // Zero seconds with a fraction, a lone nanosecond, and a year LocalDateTime prints signed
+        Order edgeTimestamps = Order.builder()
+                .id(orderId)
+                .paymentId(UUID.randomUUID())
+                .providerId(providerId)
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.PROCESSING)
+                .createdAt(LocalDateTime.of(2026, 12, 31, 23, 59, 0, 7_000_000))
+                .updatedAt(LocalDateTime.of(10000, 1, 1, 0, 0, 0, 1))
+                .build();
+        // Just created: no payment ID or update time yet
+        testOrder.setUpdatedAt(null);
+        Order created = testOrder;
+
+        for (Order order : List.of(completed, edgeTimestamps, created)) {
+            assertThat(objectMapper.writeValueAsBytes(new OrderDocument(order)))
+                    .isEqualTo(objectMapper.writeValueAsBytes(JsonApiResponse.single(OrderService.toJsonApiData(order))));
+        }
     }
 
     @Test
@@ -195,4 +475,54 @@ class OrderServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Order not found");
     }
+
+    @Test
+    void listOrders_shouldReturnCursorWhenMoreOrdersRemain() {
+        Order older = createdBefore(testOrder, Duration.ofSeconds(1));
+        Order oldest = createdBefore(testOrder, Duration.ofSeconds(2));
+        when(orderRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testOrder, older, oldest));
+
+        OrderPage page = orderService.listOrders(emptyFilter(), null, 2);
+
+        assertThat(page.data()).extracting(JsonApiData::getId)
+                .containsExactly(orderId.toString(), older.getId().toString());
+        assertThat(page.nextCursor()).isNotNull();
+
+        // The cursor is accepted back for the next page
+        when(orderRepository.findBy(any(Specification.class), any())).thenReturn(List.of(oldest));
+        OrderPage next = orderService.listOrders(emptyFilter(), page.nextCursor(), 2);
+
+        assertThat(next.data()).extracting(JsonApiData::getId).containsExactly(oldest.getId().toString());
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void listOrders_shouldRejectInvalidCursorAndLimit() {
+        assertThatThrownBy(() -> orderService.listOrders(emptyFilter(), "not-a-cursor", null))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> orderService.listOrders(emptyFilter(), null, 201))
+                .isInstanceOf(ValidationException.class);
+
+        verify(orderRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    private static Order createdBefore(Order order, Duration age) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .providerId(order.getProviderId())
+                .providerName(order.getProviderName())
+                .accountNumber(order.getAccountNumber())
+                .baseAmount(order.getBaseAmount())
+                .feeAmount(order.getFeeAmount())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt().minus(age))
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
+
+    private static OrderFilter emptyFilter() {
+        return new OrderFilter(null, null, null, null, null);
+    }
 }
@@ -0,0 +1,126 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.PartnerCircuitBreakers;
+import com.example.disbursement.config.PartnerHttpProperties;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import com.example.disbursement.support.PartnerApiServiceBuilder;
+import com.example.disbursement.support.WireMockPartnerExtension;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the per-endpoint circuit breakers through their states against the WireMock partner
+ * stubs. The breakers are count-based and the open state is left by explicit transition, so
+ * the outcome does not depend on timing beyond the stubbed delays. Globe's 3s response timeout
+ * makes its 2s {@code /disburse-slow} calls slow; other providers keep the 10s default.
+ */
+class PartnerApiServiceCircuitBreakerTest {
+
+    @RegisterExtension
+    static final WireMockPartnerExtension wireMock = new WireMockPartnerExtension();
+
+    private PartnerCircuitBreakers circuitBreakers;
+    private PartnerApiService partnerApiService;
+
+    @BeforeEach
+    void setUp() {
+        // No retries, so every call is exactly one request through the breaker
+        PartnerApiServiceBuilder builder = new PartnerApiServiceBuilder(wireMock)
+                .maxAttempts(1)
+                .circuitBreakerRegistry(CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                        .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                        .slidingWindowSize(2)
+                        .minimumNumberOfCalls(2)
+                        .slowCallRateThreshold(100)
+                        .waitDurationInOpenState(Duration.ofMinutes(1))
+                        .permittedNumberOfCallsInHalfOpenState(1)
+                        .recordException(PartnerErrors::isPartnerFailure)
+                        .ignoreExceptions(PartnerUnavailableException.class)
+                        .build()));
+        builder.httpProperties().setProviders(Map.of("Globe", PartnerHttpProperties.Settings.builder()
+                .responseTimeout(Duration.ofSeconds(3))
+                .build()));
+        partnerApiService = builder.build();
+        circuitBreakers = builder.circuitBreakers();
+    }
+
+    @Test
+    void disburseLoad_shouldOpenOnSlowCallsFailFastAndCloseAfterRecovery() {
+        ProviderSnapshot slow = wireMock.provider("/disburse-slow");
+
+        assertThat(disburse(slow)).isTrue();
+        assertThat(disburse(slow)).isTrue();
+        CircuitBreaker circuitBreaker = circuitBreakers.forEndpoint(slow, "disburse");
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> disburse(slow)).isInstanceOf(PartnerUnavailableException.class);
+        assertThat(wireMock.postCount("/disburse-slow")).isEqualTo(2);
+
+        // Breakers are per provider, so another provider's endpoint is unaffected
+        assertThat(disburse(wireMock.provider("/disburse"))).isTrue();
+
+        // Still slow while half-open: straight back to open
+        circuitBreaker.transitionToHalfOpenState();
+        assertThat(disburse(slow)).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Partner recovers: one fast trial call closes the breaker
+        wireMock.server().stubFor(post(urlPathEqualTo("/disburse-slow")).atPriority(0)
+                .willReturn(okJson("{\"success\": true}")));
+        circuitBreaker.transitionToHalfOpenState();
+        assertThat(disburse(slow)).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void validateLoad_shouldNotCountPartnerRejectionsOrClientErrors() {
+        ProviderSnapshot rejecting = wireMock.provider("/validate-fail");
+        ProviderSnapshot missing = wireMock.provider("/no-such-endpoint");
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> partnerApiService.validateLoad(rejecting, "+639123456789", new BigDecimal("100.00")))
+                    .hasMessageContaining("Invalid amount");
+            assertThatThrownBy(() -> partnerApiService.validateLoad(missing, "+639123456789", new BigDecimal("100.00")))
+                    .hasMessageContaining("404");
+        }
+
+        assertThat(circuitBreakers.forEndpoint(rejecting, "validate").getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreakers.forEndpoint(missing, "validate").getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void disburseLoad_shouldJudgeSlowCallsAgainstTheProvidersOwnTimeout() {
+        ProviderSnapshot patient = new ProviderSnapshot(UUID.randomUUID(), "Smart", new BigDecimal("10.00"),
+                wireMock.url("/validate"), wireMock.url("/disburse-slow"));
+
+        assertThat(disburse(patient)).isTrue();
+        assertThat(disburse(patient)).isTrue();
+
+        CircuitBreaker circuitBreaker = circuitBreakers.forEndpoint(patient, "disburse");
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getMetrics().getNumberOfSlowCalls()).isZero();
+    }
+
+    private boolean disburse(ProviderSnapshot provider) {
+        return partnerApiService.disburseLoad(provider, UUID.randomUUID(), UUID.randomUUID(),
+                "+639123456789", new BigDecimal("100.00"));
+    }
+}
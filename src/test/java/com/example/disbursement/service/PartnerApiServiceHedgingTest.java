@@ -0,0 +1,105 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.support.PartnerApiServiceBuilder;
+import com.example.disbursement.support.WireMockPartnerExtension;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Hedged validation against the WireMock partner stubs. Before any latency has been recorded
+ * the hedge goes out after {@code max-delay}, here 100ms.
+ */
+class PartnerApiServiceHedgingTest {
+
+    @RegisterExtension
+    static final WireMockPartnerExtension wireMock = new WireMockPartnerExtension();
+
+    private SimpleMeterRegistry meterRegistry;
+    private PartnerHedgingPolicy hedgingPolicy;
+    private PartnerApiService partnerApiService;
+
+    @BeforeEach
+    void setUp() {
+        // One attempt, so every extra request is a hedge
+        PartnerApiServiceBuilder builder = new PartnerApiServiceBuilder(wireMock).maxAttempts(1);
+        meterRegistry = builder.meterRegistry();
+        hedgingPolicy = builder.hedgingPolicy();
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", true);
+        partnerApiService = builder.build();
+    }
+
+    @Test
+    void validateLoad_shouldHedgeSlowCallAndTakeFirstAnswer() {
+        wireMock.server().stubFor(post(urlPathEqualTo("/validate-tail")).inScenario("tail")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(okJson("{\"valid\": true}").withFixedDelay(2000))
+                .willSetStateTo("fast"));
+        wireMock.server().stubFor(post(urlPathEqualTo("/validate-tail")).inScenario("tail")
+                .whenScenarioStateIs("fast")
+                .willReturn(okJson("{\"valid\": true}")));
+
+        long start = System.nanoTime();
+        validate(wireMock.provider("/validate-tail"));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+        assertThat(wireMock.postCount("/validate-tail")).isEqualTo(2);
+        assertThat(meterRegistry.get("partner.hedge.issued").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("partner.hedge.won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void validateLoad_shouldNotHedgeWhenBudgetIsSpent() {
+        ReflectionTestUtils.setField(hedgingPolicy, "maxBurst", 0.0);
+
+        validate(wireMock.provider("/validate-slow"));
+
+        assertThat(wireMock.postCount("/validate-slow")).isEqualTo(1);
+        assertThat(meterRegistry.find("partner.hedge.issued").counter()).isNull();
+    }
+
+    @Test
+    void validateLoad_shouldPassOnFirstErrorWithoutHedging() {
+        // Well past a cold first connection, so the 404 always arrives before a hedge could go out
+        ReflectionTestUtils.setField(hedgingPolicy, "maxDelay", Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> validate(wireMock.provider("/no-such-endpoint")))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("404");
+
+        assertThat(wireMock.postCount("/no-such-endpoint")).isEqualTo(1);
+    }
+
+    @Test
+    void hedgeDelay_shouldFollowRecordedPercentile() {
+        ReflectionTestUtils.setField(hedgingPolicy, "maxDelay", Duration.ofSeconds(1));
+        Timer latency = hedgingPolicy.latencyTimer(UUID.randomUUID(), "validate");
+        assertThat(hedgingPolicy.hedgeDelay(latency)).isEqualTo(Duration.ofSeconds(1));
+
+        for (int i = 0; i < 100; i++) {
+            latency.record(Duration.ofMillis(200));
+        }
+
+        assertThat(hedgingPolicy.hedgeDelay(latency)).isBetween(Duration.ofMillis(150), Duration.ofMillis(250));
+    }
+
+    private void validate(ProviderSnapshot provider) {
+        partnerApiService.validateLoad(provider, "+639123456789", new BigDecimal("100.00"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.PartnerCircuitBreakers;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import com.example.disbursement.support.PartnerApiServiceBuilder;
+import com.example.disbursement.support.WireMockPartnerExtension;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Retries against the WireMock partner stubs, with backoff shortened to a millisecond.
+ */
+class PartnerApiServiceRetryTest {
+
+    @RegisterExtension
+    static final WireMockPartnerExtension wireMock = new WireMockPartnerExtension();
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private PartnerRetryPolicy retryPolicy;
+    private PartnerApiService partnerApiService;
+
+    @BeforeEach
+    void setUp() {
+        PartnerApiServiceBuilder builder = new PartnerApiServiceBuilder(wireMock);
+        meterRegistry = builder.meterRegistry();
+        circuitBreakerRegistry = builder.circuitBreakerRegistry();
+        retryPolicy = builder.retryPolicy();
+        partnerApiService = builder.build();
+    }
+
+    @Test
+    void disburseLoad_shouldRetryTransientErrorWithSameIdempotencyKey() {
+        wireMock.server().stubFor(post(urlPathEqualTo("/disburse-flaky")).inScenario("flaky")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        wireMock.server().stubFor(post(urlPathEqualTo("/disburse-flaky")).inScenario("flaky")
+                .whenScenarioStateIs("recovered")
+                .willReturn(okJson("{\"success\": true}")));
+        ProviderSnapshot provider = wireMock.provider("/disburse-flaky");
+        UUID paymentId = UUID.randomUUID();
+
+        assertThat(partnerApiService.disburseLoad(provider, UUID.randomUUID(), paymentId,
+                "+639123456789", new BigDecimal("100.00"))).isTrue();
+
+        wireMock.server().verify(2, postRequestedFor(urlPathEqualTo("/disburse-flaky"))
+                .withHeader("Idempotency-Key", equalTo(paymentId.toString())));
+        assertThat(meterRegistry.get("partner.attempts").tag("operation", "disburse").summary().totalAmount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void disburseLoad_shouldNotRetryTerminalError() {
+        wireMock.server().stubFor(post(urlPathEqualTo("/disburse-rejected"))
+                .willReturn(aResponse().withStatus(400)));
+
+        assertThat(disburse(wireMock.provider("/disburse-rejected"))).isFalse();
+        assertThat(wireMock.postCount("/disburse-rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void disburseLoad_shouldPassOnPersistentTransientErrorAfterMaxAttempts() {
+        wireMock.server().stubFor(post(urlPathEqualTo("/disburse-down"))
+                .willReturn(aResponse().withStatus(503)));
+
+        assertThatThrownBy(() -> disburse(wireMock.provider("/disburse-down")))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        assertThat(wireMock.postCount("/disburse-down")).isEqualTo(3);
+    }
+
+    @Test
+    void disburseLoad_shouldStopRetryingWhenBudgetIsSpent() {
+        ReflectionTestUtils.setField(retryPolicy, "budgetMaxBalance", 1.0);
+        wireMock.server().stubFor(post(urlPathEqualTo("/disburse-down"))
+                .willReturn(aResponse().withStatus(503)));
+        ProviderSnapshot provider = wireMock.provider("/disburse-down");
+
+        // One token: the first call gets one retry, the second none
+        assertThatThrownBy(() -> disburse(provider)).isInstanceOf(WebClientResponseException.class);
+        assertThatThrownBy(() -> disburse(provider)).isInstanceOf(WebClientResponseException.class);
+
+        assertThat(wireMock.postCount("/disburse-down")).isEqualTo(3);
+        assertThat(meterRegistry.get("partner.retry.budget_exhausted").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void disburseLoad_shouldReportSentAttemptErrorWhenRetryIsTurnedAway() {
+        wireMock.server().stubFor(post(urlPathEqualTo("/disburse-down"))
+                .willReturn(aResponse().withStatus(503)));
+        ProviderSnapshot provider = wireMock.provider("/disburse-down");
+        // A breaker that opens on the first failure, so the retry is refused before it is sent
+        circuitBreakerRegistry.circuitBreaker(PartnerCircuitBreakers.name(provider.id(), "disburse"), CircuitBreakerConfig.custom()
+                .slidingWindowSize(1)
+                .minimumNumberOfCalls(1)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+
+        // Not PartnerUnavailableException: callers would put the order back to NEW and pay it twice
+        assertThatThrownBy(() -> disburse(provider))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class)
+                .satisfies(e -> assertThat(e.getSuppressed())
+                        .anyMatch(PartnerUnavailableException.class::isInstance));
+        assertThat(wireMock.postCount("/disburse-down")).isEqualTo(1);
+    }
+
+    @Test
+    void maxDisburseDuration_shouldCoverEveryAttemptTimingOutAndTheBackoffBetween() {
+        // 3 attempts of the 2s connect and 10s response timeouts, 2 backoffs of at most 5ms
+        assertThat(partnerApiService.maxDisburseDuration(wireMock.provider("/disburse")))
+                .isEqualTo(Duration.ofSeconds(36).plusMillis(10));
+    }
+
+    private boolean disburse(ProviderSnapshot provider) {
+        return partnerApiService.disburseLoad(provider, UUID.randomUUID(), UUID.randomUUID(),
+                "+639123456789", new BigDecimal("100.00"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.PartnerDisburseResponse;
+import com.example.disbursement.dto.PartnerValidateResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of building partner request bodies and decoding partner responses: the previous
+ * {@code Map} based codec against {@link PartnerRequestBodies} and the typed response records.
+ * Run with {@code -Pbenchmark}; the GC profiler reports {@code gc.alloc.rate.norm} in bytes per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartnerCodecBenchmark {
+
+    // Partners echo more than we read; the typed decode skips these fields
+    private static final byte[] VALIDATE_RESPONSE = ("{\"valid\":true,\"error\":null,"
+            + "\"accountNumber\":\"+639123456789\",\"carrier\":\"Globe\",\"checkedAt\":\"2024-05-01T10:15:30Z\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DISBURSE_RESPONSE = ("{\"success\":true,"
+            + "\"reference\":\"GLB-20240501-000123\",\"message\":\"Load sent\","
+            + "\"balance\":{\"currency\":\"PHP\",\"amount\":1250.00},\"processedAt\":\"2024-05-01T10:15:31Z\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID paymentId = UUID.randomUUID();
+    private final String accountNumber = "+639123456789";
+    private final BigDecimal amount = new BigDecimal("100.00");
+
+    @Benchmark
+    public byte[] validateBodyFromMap() throws IOException {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "accountNumber", accountNumber,
+                "amount", amount));
+    }
+
+    @Benchmark
+    public byte[] validateBodyFromTemplate() {
+        return PartnerRequestBodies.validate(accountNumber, amount);
+    }
+
+    @Benchmark
+    public byte[] disburseBodyFromMap() throws IOException {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "orderId", orderId.toString(),
+                "paymentId", paymentId.toString(),
+                "accountNumber", accountNumber,
+                "amount", amount));
+    }
+
+    @Benchmark
+    public byte[] disburseBodyFromTemplate() {
+        return PartnerRequestBodies.disburse(orderId, paymentId, accountNumber, amount);
+    }
+
+    @Benchmark
+    public Map<?, ?> validateResponseAsMap() throws IOException {
+        return objectMapper.readValue(VALIDATE_RESPONSE, Map.class);
+    }
+
+    @Benchmark
+    public PartnerValidateResponse validateResponseAsRecord() throws IOException {
+        return objectMapper.readValue(VALIDATE_RESPONSE, PartnerValidateResponse.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> disburseResponseAsMap() throws IOException {
+        return objectMapper.readValue(DISBURSE_RESPONSE, Map.class);
+    }
+
+    @Benchmark
+    public PartnerDisburseResponse disburseResponseAsRecord() throws IOException {
+        return objectMapper.readValue(DISBURSE_RESPONSE, PartnerDisburseResponse.class);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.PartnerHttpProperties;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.exception.PartnerUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartnerConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PartnerHttpProperties httpProperties;
+    private PartnerConcurrencyLimiter limiter;
+    private ProviderSnapshot slowProvider;
+    private ProviderSnapshot healthyProvider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        httpProperties = new PartnerHttpProperties();
+        limiter = new PartnerConcurrencyLimiter(meterRegistry, httpProperties);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 2);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 4);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(limiter, "latencyThreshold", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(limiter, "latencyThresholdRatio", 0.5);
+        slowProvider = provider("Slow");
+        healthyProvider = provider("Healthy");
+    }
+
+    @Test
+    void limit_shouldRejectFastWhenProviderIsFullWithoutAffectingOthers() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        limiter.limit(slowProvider, first.asMono()).subscribe();
+        limiter.limit(slowProvider, second.asMono()).subscribe();
+
+        StepVerifier.create(limiter.limit(slowProvider, Mono.just("third")))
+                .expectError(PartnerUnavailableException.class)
+                .verify();
+        StepVerifier.create(limiter.limit(healthyProvider, Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+        assertThat(meterRegistry.get("partner.concurrency.rejected")
+                .tag("provider", slowProvider.id().toString()).counter().count()).isEqualTo(1.0);
+
+        first.tryEmitValue("done");
+        StepVerifier.create(limiter.limit(slowProvider, Mono.just("retry")))
+                .expectNext("retry")
+                .verifyComplete();
+    }
+
+    @Test
+    void limit_shouldShrinkOnOverloadAndGrowWhileBusy() {
+        StepVerifier.create(limiter.limit(slowProvider, Mono.error(
+                        WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "Unavailable", null, null, null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(limiter.getLimit(slowProvider.id())).isEqualTo(1);
+
+        // A partner 4xx is an answer, not overload
+        StepVerifier.create(limiter.limit(slowProvider, Mono.error(
+                        WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(limiter.getLimit(slowProvider.id())).isEqualTo(2);
+
+        StepVerifier.create(limiter.limit(slowProvider, Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+        assertThat(limiter.getLimit(slowProvider.id())).isEqualTo(3);
+    }
+
+    @Test
+    void limit_shouldMeasureSlowCallsAgainstTheProvidersOwnResponseTimeout() {
+        ReflectionTestUtils.setField(limiter, "latencyThreshold", null);
+        httpProperties.setProviders(Map.of("Slow", PartnerHttpProperties.Settings.builder()
+                .responseTimeout(Duration.ofMillis(400))
+                .build()));
+        // Half of the 10s default for the healthy provider, half of its own 400ms for the slow one
+        Mono<String> call = Mono.just("ok").delayElement(Duration.ofMillis(300));
+        limiter.limit(healthyProvider, Mono.<String>never()).subscribe();
+        limiter.limit(slowProvider, Mono.<String>never()).subscribe();
+
+        StepVerifier.create(limiter.limit(healthyProvider, call)).expectNext("ok").verifyComplete();
+        StepVerifier.create(limiter.limit(slowProvider, call)).expectNext("ok").verifyComplete();
+
+        assertThat(limiter.getLimit(healthyProvider.id())).isEqualTo(3);
+        assertThat(limiter.getLimit(slowProvider.id())).isEqualTo(1);
+    }
+
+    private static ProviderSnapshot provider(String name) {
+        return new ProviderSnapshot(UUID.randomUUID(), name, BigDecimal.TEN,
+                "http://partner/validate", "http://partner/disburse");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.PartnerDisburseResponse;
+import com.example.disbursement.dto.PartnerValidateResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartnerRequestBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void validate_shouldMatchJacksonOutput() throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("accountNumber", "+639123456789");
+        body.put("amount", new BigDecimal("100.00"));
+
+        assertThat(new String(PartnerRequestBodies.validate("+639123456789", new BigDecimal("100.00"))))
+                .isEqualTo(objectMapper.writeValueAsString(body));
+    }
+
+    @Test
+    void disburse_shouldMatchJacksonOutputIncludingEscapes() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentId = UUID.randomUUID();
+        String accountNumber = "\"+63\\912ñ\n";
+        BigDecimal amount = new BigDecimal("1E+3");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("orderId", orderId.toString());
+        body.put("paymentId", paymentId.toString());
+        body.put("accountNumber", accountNumber);
+        body.put("amount", amount);
+
+        assertThat(PartnerRequestBodies.disburse(orderId, paymentId, accountNumber, amount))
+                .isEqualTo(objectMapper.writeValueAsBytes(body));
+    }
+
+    @Test
+    void responses_shouldSkipFieldsWeDoNotRead() throws Exception {
+        PartnerValidateResponse validate = objectMapper.readValue(
+                "{\"valid\":false,\"error\":\"Invalid account\",\"carrier\":{\"name\":\"Globe\"}}",
+                PartnerValidateResponse.class);
+        PartnerDisburseResponse disburse = objectMapper.readValue(
+                "{\"reference\":\"GLB-1\",\"success\":true,\"balance\":[1,2,3]}", PartnerDisburseResponse.class);
+
+        assertThat(validate).isEqualTo(new PartnerValidateResponse(false, "Invalid account"));
+        assertThat(disburse.success()).isTrue();
+    }
+}
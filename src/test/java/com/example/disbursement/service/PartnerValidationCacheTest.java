@@ -0,0 +1,109 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.CacheConfig;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.exception.ValidationException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartnerValidationCacheTest {
+
+    private CaffeineCacheManager cacheManager;
+    private ProviderSnapshot globe;
+    private ProviderSnapshot smart;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.VALIDATION_CACHE,
+                Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).buildAsync());
+        globe = provider("Globe");
+        smart = provider("Smart");
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void validate_shouldReuseSuccessForOptedInProvider() {
+        PartnerValidationCache cache = new PartnerValidationCache(cacheManager, Set.of("globe"));
+
+        cache.validate(globe, "+639123456789", new BigDecimal("100"), this::accept).block();
+        cache.validate(globe, "+639123456789", new BigDecimal("100.00"), this::accept).block();
+        cache.validate(globe, "+639123456789", new BigDecimal("200.00"), this::accept).block();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void validate_shouldNotCacheRejection() {
+        PartnerValidationCache cache = new PartnerValidationCache(cacheManager, Set.of(globe.id().toString()));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.validate(globe, "+639000000000", new BigDecimal("100.00"), this::reject).block())
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Invalid account");
+        }
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void validate_shouldShareInFlightCallBetweenConcurrentLookups() {
+        PartnerValidationCache cache = new PartnerValidationCache(cacheManager, Set.of("globe"));
+        Sinks.Empty<Void> partner = Sinks.empty();
+
+        CompletableFuture<Void> first = cache.validate(globe, "+639123456789", new BigDecimal("100.00"), () -> {
+            calls.incrementAndGet();
+            return partner.asMono();
+        }).toFuture();
+        CompletableFuture<Void> second = cache.validate(globe, "+639123456789", new BigDecimal("100.00"),
+                this::accept).toFuture();
+
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        partner.tryEmitEmpty();
+
+        assertThat(first).succeedsWithin(Duration.ofSeconds(1));
+        assertThat(second).succeedsWithin(Duration.ofSeconds(1));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void validate_shouldAlwaysCallPartnerForOtherProviders() {
+        PartnerValidationCache cache = new PartnerValidationCache(cacheManager, Set.of("globe"));
+
+        cache.validate(smart, "+639123456789", new BigDecimal("100.00"), this::accept).block();
+        cache.validate(smart, "+639123456789", new BigDecimal("100.00"), this::accept).block();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private Mono<Void> accept() {
+        calls.incrementAndGet();
+        return Mono.empty();
+    }
+
+    private Mono<Void> reject() {
+        calls.incrementAndGet();
+        return Mono.error(new ValidationException("Invalid account"));
+    }
+
+    private static ProviderSnapshot provider(String name) {
+        return new ProviderSnapshot(UUID.randomUUID(), name, new BigDecimal("10.00"),
+                "http://wiremock:8080/validate", "http://wiremock:8080/disburse");
+    }
+}
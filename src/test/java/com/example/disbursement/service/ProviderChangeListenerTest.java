@@ -0,0 +1,42 @@
+package com.example.disbursement.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderChangeListenerTest {
+
+    @Mock
+    private DataSourceProperties dataSourceProperties;
+
+    @Mock
+    private ProviderService providerService;
+
+    @InjectMocks
+    private ProviderChangeListener listener;
+
+    @Test
+    void onProviderChanged_shouldEvictChangedProvider() {
+        UUID providerId = UUID.randomUUID();
+
+        listener.onProviderChanged(providerId.toString());
+
+        verify(providerService).evictProviderSnapshot(providerId);
+        verify(providerService, never()).evictAllProviderSnapshots();
+    }
+
+    @Test
+    void onProviderChanged_shouldEvictAllOnUnexpectedPayload() {
+        listener.onProviderChanged("not-a-uuid");
+
+        verify(providerService).evictAllProviderSnapshots();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.config.CacheConfig;
+import com.example.disbursement.dto.ProviderDto;
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.example.disbursement.entity.Provider;
+import com.example.disbursement.repository.ProviderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {ProviderService.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class ProviderServiceCacheTest {
+
+    @Autowired
+    private ProviderService providerService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ProviderRepository providerRepository;
+
+    private Provider testProvider;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PROVIDERS_CACHE).clear();
+
+        testProvider = Provider.builder()
+                .id(UUID.randomUUID())
+                .name("Globe")
+                .feeAmount(new BigDecimal("10.00"))
+                .validateApiUrl("http://wiremock:8080/validate")
+                .disbursementApiUrl("http://wiremock:8080/disburse")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void getProviderSnapshot_shouldServeRepeatedReadsFromCache() {
+        when(providerRepository.findById(testProvider.getId())).thenReturn(Optional.of(testProvider));
+
+        ProviderSnapshot first = providerService.getProviderSnapshot(testProvider.getId());
+        ProviderSnapshot second = providerService.getProviderSnapshot(testProvider.getId());
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.feeAmount()).isEqualByComparingTo(new BigDecimal("10.00"));
+        verify(providerRepository, times(1)).findById(testProvider.getId());
+    }
+
+    @Test
+    void createProvider_shouldInvalidateCachedSnapshots() {
+        when(providerRepository.findById(testProvider.getId())).thenReturn(Optional.of(testProvider));
+        when(providerRepository.save(any(Provider.class))).thenReturn(testProvider);
+
+        providerService.getProviderSnapshot(testProvider.getId());
+        providerService.createProvider(ProviderDto.builder()
+                .name("Smart")
+                .feeAmount(new BigDecimal("15.00"))
+                .validateApiUrl("http://wiremock:8080/validate")
+                .disbursementApiUrl("http://wiremock:8080/disburse")
+                .build());
+        providerService.getProviderSnapshot(testProvider.getId());
+
+        verify(providerRepository, times(2)).findById(testProvider.getId());
+    }
+
+    @Test
+    void evictProviderSnapshot_shouldForceReload() {
+        when(providerRepository.findById(testProvider.getId())).thenReturn(Optional.of(testProvider));
+
+        providerService.getProviderSnapshot(testProvider.getId());
+        providerService.evictProviderSnapshot(testProvider.getId());
+        providerService.getProviderSnapshot(testProvider.getId());
+
+        verify(providerRepository, times(2)).findById(testProvider.getId());
+    }
+}
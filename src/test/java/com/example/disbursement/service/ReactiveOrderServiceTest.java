@@ -0,0 +1,282 @@
+package com.example.disbursement.service;
+
+import com.example.disbursement.dto.OrderDto;
+import com.example.disbursement.dto.jsonapi.JsonApiData;
+import com.example.disbursement.entity.Order;
+import com.example.disbursement.entity.Provider;
+import com.example.disbursement.exception.ResourceNotFoundException;
+import com.example.disbursement.exception.ValidationException;
+import com.example.disbursement.repository.ReactiveOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository orderRepository;
+
+    @Mock
+    private ReactiveProviderService providerService;
+
+    @Mock
+    private PartnerApiService partnerApiService;
+
+    @InjectMocks
+    private ReactiveOrderService orderService;
+
+    private Provider testProvider;
+    private Order testOrder;
+    private UUID providerId;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderService, "idempotencyWaitTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(orderService, "idempotencyPollInterval", Duration.ofMillis(1));
+        providerId = UUID.randomUUID();
+        orderId = UUID.randomUUID();
+
+        testProvider = Provider.builder()
+                .id(providerId)
+                .name("Globe")
+                .feeAmount(new BigDecimal("10.00"))
+                .validateApiUrl("http://wiremock:8080/validate")
+                .disbursementApiUrl("http://wiremock:8080/disburse")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        testOrder = Order.builder()
+                .id(orderId)
+                .providerId(providerId)
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(Order.OrderStatus.NEW)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void createLoadOrder_shouldValidateThenInsert() {
+        OrderDto requestDto = OrderDto.builder()
+                .providerId(providerId.toString())
+                .accountNumber("+639123456789")
+                .amount(new BigDecimal("100.00"))
+                .build();
+
+        when(providerService.getProviderById(providerId)).thenReturn(Mono.just(testProvider));
+        when(partnerApiService.validateLoadAsync(any(), any(), any())).thenReturn(Mono.empty());
+        when(orderRepository.insert(any(Order.class))).thenReturn(Mono.just(testOrder));
+
+        StepVerifier.create(orderService.createLoadOrder(requestDto))
+                .assertNext(result -> {
+                    assertThat(result.getType()).isEqualTo("orders");
+                    assertThat(result.getAttributes().getStatus()).isEqualTo("NEW");
+                    assertThat(result.getAttributes().getTotalAmount()).isEqualByComparingTo(new BigDecimal("110.00"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void createLoadOrder_shouldNotInsertWhenValidationFails() {
+        OrderDto requestDto = OrderDto.builder()
+                .providerId(providerId.toString())
+                .accountNumber("+639123456789")
+                .amount(new BigDecimal("5000.00"))
+                .build();
+
+        when(providerService.getProviderById(providerId)).thenReturn(Mono.just(testProvider));
+        when(partnerApiService.validateLoadAsync(any(), any(), any()))
+                .thenReturn(Mono.error(new ValidationException("Invalid amount")));
+
+        StepVerifier.create(orderService.createLoadOrder(requestDto))
+                .expectError(ValidationException.class)
+                .verify();
+        verify(orderRepository, never()).insert(any());
+    }
+
+    @Test
+    void disburseOrder_shouldClaimCallPartnerAndRecordSuccess() {
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(paymentId.toString())
+                .build();
+
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(testOrder));
+        when(providerService.getProviderById(providerId)).thenReturn(Mono.just(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(Mono.just(1L));
+        when(partnerApiService.disburseLoadAsync(any(), any(), any(), any(), any())).thenReturn(Mono.just(true));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.SUCCESS), eq(paymentId), any())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(orderService.disburseOrder(orderId, requestDto))
+                .assertNext(result -> {
+                    assertThat(result.getAttributes().getStatus()).isEqualTo("SUCCESS");
+                    assertThat(result.getAttributes().getPaymentId()).isEqualTo(paymentId.toString());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void disburseOrder_shouldShareInFlightResultWithConcurrentDuplicate() throws Exception {
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(paymentId.toString())
+                .build();
+        Sinks.One<Boolean> partner = Sinks.one();
+
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(testOrder));
+        when(providerService.getProviderById(providerId)).thenReturn(Mono.just(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(Mono.just(1L));
+        when(partnerApiService.disburseLoadAsync(any(), any(), any(), any(), any())).thenReturn(partner.asMono());
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.SUCCESS), eq(paymentId), any())).thenReturn(Mono.just(1L));
+
+        // The duplicate arrives while the first request is waiting on the partner
+        CompletableFuture<JsonApiData<OrderDto>> first = orderService.disburseOrder(orderId, requestDto).toFuture();
+        CompletableFuture<JsonApiData<OrderDto>> duplicate = orderService.disburseOrder(orderId, requestDto).toFuture();
+        assertThat(duplicate).isNotDone();
+        partner.tryEmitValue(true);
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getAttributes().getStatus()).isEqualTo("SUCCESS");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getAttributes().getStatus()).isEqualTo("SUCCESS");
+        verify(partnerApiService, times(1)).disburseLoadAsync(any(), any(), any(), any(), any());
+        verify(orderRepository, times(1)).compareAndSetStatus(any(), any(), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), any(), any());
+    }
+
+    @Test
+    void disburseOrder_shouldAnswerDuplicateWithProcessingOrderWhenOriginalOutlastsWait() throws Exception {
+        ReflectionTestUtils.setField(orderService, "idempotencyWaitTimeout", null);
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(paymentId.toString())
+                .build();
+        Sinks.One<Boolean> partner = Sinks.one();
+
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(testOrder));
+        when(providerService.getProviderById(providerId)).thenReturn(Mono.just(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(Mono.just(1L));
+        when(partnerApiService.disburseLoadAsync(any(), any(), any(), any(), any())).thenReturn(partner.asMono());
+        when(partnerApiService.maxDisburseDuration(any())).thenReturn(Duration.ofMillis(50));
+
+        CompletableFuture<JsonApiData<OrderDto>> first = orderService.disburseOrder(orderId, requestDto).toFuture();
+
+        // Not a 409: the retry is the same payment, so it gets the order as it stands
+        StepVerifier.create(orderService.disburseOrder(orderId, requestDto))
+                .assertNext(result -> assertThat(result.getAttributes().getStatus()).isEqualTo("PROCESSING"))
+                .verifyComplete();
+        assertThat(first).isNotDone();
+        first.cancel(true);
+        verify(partnerApiService, times(1)).disburseLoadAsync(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void disburseOrder_shouldWaitForDisbursementClaimedElsewhere() {
+        UUID paymentId = UUID.randomUUID();
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(paymentId.toString())
+                .build();
+        Order processing = order(Order.OrderStatus.PROCESSING, paymentId);
+        Order completed = order(Order.OrderStatus.SUCCESS, paymentId);
+
+        // Read as NEW, claimed by another instance first, then still running for one poll
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(testOrder), Mono.just(processing),
+                Mono.just(processing), Mono.just(completed));
+        when(providerService.getProviderById(providerId)).thenReturn(Mono.just(testProvider));
+        when(orderRepository.compareAndSetStatus(eq(orderId), eq(testOrder.getCreatedAt()), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), eq(paymentId), any())).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(orderService.disburseOrder(orderId, requestDto))
+                .assertNext(result -> assertThat(result.getAttributes().getStatus()).isEqualTo("SUCCESS"))
+                .verifyComplete();
+        verifyNoInteractions(partnerApiService);
+    }
+
+    @Test
+    void disburseOrder_shouldRejectDifferentPaymentWhenClaimIsLost() {
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(UUID.randomUUID().toString())
+                .build();
+
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(testOrder),
+                Mono.just(order(Order.OrderStatus.PROCESSING, UUID.randomUUID())));
+        when(providerService.getProviderById(providerId)).thenReturn(Mono.just(testProvider));
+        when(orderRepository.compareAndSetStatus(any(), any(), eq(Order.OrderStatus.NEW),
+                eq(Order.OrderStatus.PROCESSING), any(), any())).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(orderService.disburseOrder(orderId, requestDto))
+                .expectErrorMatches(e -> e instanceof IllegalStateException
+                        && e.getMessage().contains("PROCESSING"))
+                .verify();
+        verifyNoInteractions(partnerApiService);
+    }
+
+    @Test
+    void disburseOrder_shouldErrorWhenOrderAlreadyDisbursed() {
+        testOrder.setStatus(Order.OrderStatus.SUCCESS);
+        OrderDto requestDto = OrderDto.builder()
+                .paymentId(UUID.randomUUID().toString())
+                .build();
+
+        when(orderRepository.findById(orderId)).thenReturn(Mono.just(testOrder));
+
+        StepVerifier.create(orderService.disburseOrder(orderId, requestDto))
+                .expectErrorMatches(e -> e instanceof IllegalStateException
+                        && e.getMessage().contains("Order cannot be disbursed"))
+                .verify();
+        verifyNoInteractions(partnerApiService);
+    }
+
+    @Test
+    void getOrderById_shouldErrorWhenNotFound() {
+        when(orderRepository.findById(orderId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(orderService.getOrderById(orderId))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    private Order order(Order.OrderStatus status, UUID paymentId) {
+        return Order.builder()
+                .id(orderId)
+                .providerId(providerId)
+                .providerName("Globe")
+                .accountNumber("+639123456789")
+                .paymentId(paymentId)
+                .baseAmount(new BigDecimal("100.00"))
+                .feeAmount(new BigDecimal("10.00"))
+                .totalAmount(new BigDecimal("110.00"))
+                .status(status)
+                .createdAt(testOrder.getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.disbursement.support;
+
+import com.example.disbursement.config.PartnerCircuitBreakers;
+import com.example.disbursement.config.PartnerHttpProperties;
+import com.example.disbursement.config.PartnerWebClients;
+import com.example.disbursement.service.DisbursementMetrics;
+import com.example.disbursement.service.PartnerApiService;
+import com.example.disbursement.service.PartnerConcurrencyLimiter;
+import com.example.disbursement.service.PartnerHedgingPolicy;
+import com.example.disbursement.service.PartnerRetryPolicy;
+import com.example.disbursement.service.PartnerValidationCache;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Builds a {@link PartnerApiService} against the {@link WireMockPartnerExtension} stubs, with
+ * settings sized for tests: a concurrency limit of 10, three attempts with millisecond backoff,
+ * hedging off, default circuit breakers and no validation cache. A test changes only the
+ * setting it exercises, on the component from the matching accessor, before {@link #build()}.
+ */
+public class PartnerApiServiceBuilder {
+
+    private final WireMockPartnerExtension wireMock;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PartnerHttpProperties httpProperties = new PartnerHttpProperties();
+    private final PartnerConcurrencyLimiter limiter;
+    private final PartnerRetryPolicy retryPolicy;
+    private final PartnerHedgingPolicy hedgingPolicy;
+    private CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private PartnerCircuitBreakers circuitBreakers;
+
+    public PartnerApiServiceBuilder(WireMockPartnerExtension wireMock) {
+        this.wireMock = wireMock;
+
+        limiter = new PartnerConcurrencyLimiter(meterRegistry, httpProperties);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 10);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 10);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(limiter, "latencyThreshold", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(limiter, "latencyThresholdRatio", 0.5);
+
+        retryPolicy = new PartnerRetryPolicy(meterRegistry);
+        ReflectionTestUtils.setField(retryPolicy, "maxAttempts", 3);
+        ReflectionTestUtils.setField(retryPolicy, "minBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(retryPolicy, "maxBackoff", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(retryPolicy, "jitter", 0.5);
+        ReflectionTestUtils.setField(retryPolicy, "budgetRatio", 0.1);
+        ReflectionTestUtils.setField(retryPolicy, "budgetMinPerSecond", 0.0);
+        ReflectionTestUtils.setField(retryPolicy, "budgetMaxBalance", 10.0);
+
+        hedgingPolicy = new PartnerHedgingPolicy(meterRegistry);
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", false);
+        ReflectionTestUtils.setField(hedgingPolicy, "percentile", 0.95);
+        ReflectionTestUtils.setField(hedgingPolicy, "minSamples", 20L);
+        ReflectionTestUtils.setField(hedgingPolicy, "minDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(hedgingPolicy, "maxDelay", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(hedgingPolicy, "maxRate", 0.05);
+        ReflectionTestUtils.setField(hedgingPolicy, "maxBurst", 5.0);
+    }
+
+    /** Shared by every component, for meter assertions. */
+    public SimpleMeterRegistry meterRegistry() {
+        return meterRegistry;
+    }
+
+    /** Read by the HTTP clients, the limiter and the circuit breakers alike. */
+    public PartnerHttpProperties httpProperties() {
+        return httpProperties;
+    }
+
+    public PartnerConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    public PartnerRetryPolicy retryPolicy() {
+        return retryPolicy;
+    }
+
+    public PartnerHedgingPolicy hedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return circuitBreakerRegistry;
+    }
+
+    /** Replaces the default breaker config; slow calls are still judged by the provider's timeout. */
+    public PartnerApiServiceBuilder circuitBreakerRegistry(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        return this;
+    }
+
+    public PartnerApiServiceBuilder maxAttempts(int maxAttempts) {
+        ReflectionTestUtils.setField(retryPolicy, "maxAttempts", maxAttempts);
+        return this;
+    }
+
+    /** The breakers of the last {@link #build()}. */
+    public PartnerCircuitBreakers circuitBreakers() {
+        return circuitBreakers;
+    }
+
+    public PartnerApiService build() {
+        circuitBreakers = new PartnerCircuitBreakers(circuitBreakerRegistry, httpProperties, null, 0.5);
+        return new PartnerApiService(
+                new PartnerWebClients(WebClient.builder(), httpProperties, wireMock.url("")),
+                limiter, circuitBreakers, retryPolicy, hedgingPolicy,
+                new PartnerValidationCache(new ConcurrentMapCacheManager(), Set.of()),
+                new DisbursementMetrics(meterRegistry));
+    }
+}
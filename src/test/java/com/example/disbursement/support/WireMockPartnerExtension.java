@@ -0,0 +1,60 @@
+package com.example.disbursement.support;
+
+import com.example.disbursement.dto.ProviderSnapshot;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Runs the partner API stubs from {@code wiremock/mappings} on a random port, the same
+ * mappings docker-compose serves. Stubs added by a test and the request journal are reset
+ * before each test.
+ */
+public class WireMockPartnerExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback {
+
+    private final WireMockServer server = new WireMockServer(options()
+            .dynamicPort()
+            .usingFilesUnderDirectory("wiremock"));
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        server.start();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        server.stop();
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        server.resetToDefaultMappings();
+        server.resetRequests();
+    }
+
+    public String url(String path) {
+        return server.baseUrl() + path;
+    }
+
+    /** A new provider named Globe whose validate and disburse calls both go to {@code path}. */
+    public ProviderSnapshot provider(String path) {
+        return new ProviderSnapshot(UUID.randomUUID(), "Globe", new BigDecimal("10.00"), url(path), url(path));
+    }
+
+    public int postCount(String path) {
+        return server.countRequestsMatching(postRequestedFor(urlPathEqualTo(path)).build()).getCount();
+    }
+
+    public WireMockServer server() {
+        return server;
+    }
+}